@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: default build vs fast-startup build.
+#
+#   ./scripts/startup-benchmark.sh [runs]
+#
+# For each variant it reports time-to-first-request (JVM launch until
+# GET /api/v1/students answers 200) and the RSS of the process at that point.
+#
+#   default       -> mvn package, java -jar
+#   profile-only  -> the default jar with the fast-startup profile (lazy init,
+#                    no SQL logging), no AOT or CDS
+#   fast-startup  -> mvn -Pfast-startup package, extracted jar,
+#                    AOT enabled, AppCDS archive, lazy-init profile
+#
+# The profile also turns off show-sql and Hibernate DEBUG/TRACE logging, so
+# default vs profile-only is the gain of the profile (logging included) and
+# profile-only vs fast-startup is the gain of AOT and CDS.
+#
+# PostgreSQL from application.properties must be running: the CDS training
+# run and every benchmark run refresh the full context.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT=8081
+URL="http://localhost:${PORT}/api/v1/students"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="${ROOT}/target/startup-benchmark"
+JAR_NAME="academy-backend-0.0.1-SNAPSHOT.jar"
+
+cd "${ROOT}"
+
+# Both builds run "clean", so the default jar is parked outside target/ meanwhile.
+DEFAULT_JAR="$(mktemp)"
+trap 'rm -f "${DEFAULT_JAR}"' EXIT
+
+echo ">> building default jar"
+./mvnw -B -q -DskipTests clean package
+cp "target/${JAR_NAME}" "${DEFAULT_JAR}"
+
+echo ">> building fast-startup jar"
+./mvnw -B -q -DskipTests -Pfast-startup clean package
+mkdir -p "${OUT}/default" "${OUT}/fast-startup"
+cp "${DEFAULT_JAR}" "${OUT}/default/app.jar"
+java -Djarmode=tools -jar "target/${JAR_NAME}" extract --destination "${OUT}/fast-startup/app"
+
+FAST_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup)
+
+echo ">> CDS training run"
+java -XX:ArchiveClassesAtExit="${OUT}/fast-startup/app.jsa" \
+     -Dspring.context.exit=onRefresh \
+     "${FAST_OPTS[@]}" \
+     -jar "${OUT}/fast-startup/app/${JAR_NAME}" > "${OUT}/fast-startup/training.log" 2>&1
+
+now_ms() { date +%s%3N; }
+
+# Prints "<ttfr_ms> <rss_kb>" for one run of the given command.
+measure() {
+    local start pid ttfr rss
+    start=$(now_ms)
+    "$@" > /dev/null 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null -w '%{http_code}' "${URL}" 2>/dev/null | grep -q 200; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "application exited before serving a request" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ttfr=$(( $(now_ms) - start ))
+    rss=$(ps -o rss= -p "${pid}" | tr -d ' ')
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "${ttfr} ${rss}"
+}
+
+run_variant() {
+    local name=$1; shift
+    local total_ttfr=0 total_rss=0 result ttfr rss
+    for i in $(seq 1 "${RUNS}"); do
+        result=$(measure "$@")
+        read -r ttfr rss <<< "${result}"
+        printf '%-13s run %-2s ttfr=%6s ms  rss=%7s KB\n' "${name}" "${i}" "${ttfr}" "${rss}"
+        total_ttfr=$(( total_ttfr + ttfr ))
+        total_rss=$(( total_rss + rss ))
+    done
+    printf '%-13s avg    ttfr=%6s ms  rss=%7s KB\n\n' "${name}" \
+        "$(( total_ttfr / RUNS ))" "$(( total_rss / RUNS ))"
+}
+
+run_variant default \
+    java -jar "${OUT}/default/app.jar"
+
+run_variant profile-only \
+    java -Dspring.profiles.active=fast-startup -jar "${OUT}/default/app.jar"
+
+run_variant fast-startup \
+    java -XX:SharedArchiveFile="${OUT}/fast-startup/app.jsa" \
+         "${FAST_OPTS[@]}" \
+         -jar "${OUT}/fast-startup/app/${JAR_NAME}"
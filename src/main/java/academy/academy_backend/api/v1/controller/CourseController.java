@@ -1,15 +1,19 @@
 package academy.academy_backend.api.v1.controller;
 
+import academy.academy_backend.api.v1.dto.request.CourseCreateRequest;
+import academy.academy_backend.api.v1.dto.request.CourseSearchRequest;
 import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
-import academy.academy_backend.domain.course.Course;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
 import academy.academy_backend.service.impl.CourseService;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
-@RequestMapping("/api/v1/students/{studentId}/courses")
+@RequestMapping("/api/v1/courses")
 public class CourseController {
     private final CourseService courseService;
 
@@ -19,20 +23,31 @@ public class CourseController {
 
     @PostMapping
     public ResponseEntity<CourseResponseDTO> createCourse(
-            @PathVariable Long studentId,
-            @RequestBody Course course
+            @RequestBody @Valid CourseCreateRequest course
     ) {
-        return ResponseEntity.ok(
-                courseService.createCourse(studentId, course)
-        );
+        return ResponseEntity.ok(courseService.createCourse(course));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CourseResponseDTO> get(@PathVariable Long id) {
+        return ResponseEntity.ok(courseService.getById(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<CourseResponseDTO>> getCourses(
-            @PathVariable Long studentId
+    public ResponseEntity<List<CourseResponseDTO>> getAll() {
+        return ResponseEntity.ok(courseService.getAll());
+    }
+
+    @GetMapping("/{id}/students")
+    public ResponseEntity<List<StudentResponseDTO>> getStudents(
+            @PathVariable Long id
     ) {
-        return ResponseEntity.ok(
-                courseService.getCourseByStudent(studentId)
-        );
+        return ResponseEntity.ok(courseService.getStudentsByCourse(id));
+    }
+
+    @PostMapping("/search")
+    public ResponseEntity<Page<CourseResponseDTO>> search(
+            @RequestBody CourseSearchRequest courseSearchRequest) {
+        return ResponseEntity.ok(courseService.search(courseSearchRequest));
     }
 }
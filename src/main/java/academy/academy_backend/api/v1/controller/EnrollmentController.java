@@ -0,0 +1,58 @@
+package academy.academy_backend.api.v1.controller;
+
+import academy.academy_backend.api.v1.dto.request.EnrollmentRequest;
+import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
+import academy.academy_backend.service.impl.CourseService;
+import academy.academy_backend.service.impl.EnrollmentService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/students/{studentId}/courses")
+public class EnrollmentController {
+    private final EnrollmentService enrollmentService;
+    private final CourseService courseService;
+
+    public EnrollmentController(
+            EnrollmentService enrollmentService,
+            CourseService courseService
+    ) {
+        this.enrollmentService = enrollmentService;
+        this.courseService = courseService;
+    }
+
+    @PostMapping
+    public ResponseEntity<List<CourseResponseDTO>> enroll(
+            @PathVariable Long studentId,
+            @RequestBody @Valid EnrollmentRequest enrollmentRequest
+    ) {
+        return ResponseEntity.ok(
+                enrollmentService.enroll(studentId, enrollmentRequest.getCourseIds())
+        );
+    }
+
+    // DELETE /api/v1/students/1/courses?courseIds=3,4
+    // An empty element (courseIds=3,,4) is a 400 like in the POST body.
+    @DeleteMapping
+    public ResponseEntity<Void> unenroll(
+            @PathVariable Long studentId,
+            @RequestParam @NotEmpty List<@NotNull Long> courseIds
+    ) {
+        enrollmentService.unenroll(studentId, courseIds);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CourseResponseDTO>> getCourses(
+            @PathVariable Long studentId
+    ) {
+        return ResponseEntity.ok(
+                courseService.getCourseByStudent(studentId)
+        );
+    }
+}
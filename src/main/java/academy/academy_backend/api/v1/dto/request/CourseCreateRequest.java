@@ -0,0 +1,20 @@
+package academy.academy_backend.api.v1.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class CourseCreateRequest {
+    @NotBlank
+    private String title;
+
+    @NotNull
+    @Min(1)
+    private Integer credits;
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public Integer getCredits() { return credits; }
+    public void setCredits(Integer credits) { this.credits = credits; }
+}
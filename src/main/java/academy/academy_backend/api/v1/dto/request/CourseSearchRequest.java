@@ -0,0 +1,26 @@
+package academy.academy_backend.api.v1.dto.request;
+
+import java.util.List;
+
+public class CourseSearchRequest {
+    private int page;
+    private int size;
+    private String search;
+    private List<FilterCriterion> criteria;
+    private List<SortField> sorting;
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getSearch() { return search; }
+    public void setSearch(String search) { this.search = search; }
+
+    public List<FilterCriterion> getCriteria() { return criteria; }
+    public void setCriteria(List<FilterCriterion> criteria) { this.criteria = criteria; }
+
+    public List<SortField> getSorting() { return sorting; }
+    public void setSorting(List<SortField> sorting) { this.sorting = sorting; }
+}
@@ -0,0 +1,14 @@
+package academy.academy_backend.api.v1.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class EnrollmentRequest {
+    @NotEmpty
+    private List<@NotNull Long> courseIds;
+
+    public List<Long> getCourseIds() { return courseIds; }
+    public void setCourseIds(List<Long> courseIds) { this.courseIds = courseIds; }
+}
@@ -0,0 +1,50 @@
+package academy.academy_backend.api.v1.dto.request;
+
+import java.util.List;
+
+/**
+ * One typed filter, e.g.
+ * { "field": "age", "op": "range", "from": 18, "to": 25 }
+ * { "field": "email", "op": "in", "values": ["a@x.com", "b@x.com"] }
+ * { "field": "name", "op": "prefix", "value": "Jo" }
+ * { "field": "courses", "op": "exists",
+ *   "criteria": [ { "field": "credits", "op": "range", "from": 5 } ] }
+ */
+public class FilterCriterion {
+    private String field;
+    private String op;
+    private Object value;
+    private List<Object> values;
+    private Object from;
+    private Object to;
+    private List<FilterCriterion> criteria;
+
+    public FilterCriterion() {}
+
+    public FilterCriterion(String field, String op, Object value) {
+        this.field = field;
+        this.op = op;
+        this.value = value;
+    }
+
+    public String getField() { return field; }
+    public void setField(String field) { this.field = field; }
+
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public Object getValue() { return value; }
+    public void setValue(Object value) { this.value = value; }
+
+    public List<Object> getValues() { return values; }
+    public void setValues(List<Object> values) { this.values = values; }
+
+    public Object getFrom() { return from; }
+    public void setFrom(Object from) { this.from = from; }
+
+    public Object getTo() { return to; }
+    public void setTo(Object to) { this.to = to; }
+
+    public List<FilterCriterion> getCriteria() { return criteria; }
+    public void setCriteria(List<FilterCriterion> criteria) { this.criteria = criteria; }
+}
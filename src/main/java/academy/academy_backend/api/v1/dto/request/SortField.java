@@ -0,0 +1,12 @@
+package academy.academy_backend.api.v1.dto.request;
+
+public class SortField {
+    private String field;
+    private String direction;
+
+    public String getField() { return field; }
+    public void setField(String field) { this.field = field;}
+
+    public String getDirection() { return direction; }
+    public void setDirection(String direction) { this.direction = direction; }
+}
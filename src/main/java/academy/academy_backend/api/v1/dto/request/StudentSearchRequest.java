@@ -8,19 +8,9 @@ public class StudentSearchRequest {
     private int size;
     private String search;
     private Map<String, Object> filters;
+    private List<FilterCriterion> criteria;
     private List<SortField> sorting;
 
-    public static class SortField {
-        private String field;
-        private String direction;
-
-        public String getField() { return field; }
-        public void setField(String field) { this.field = field;}
-
-        public String getDirection() { return direction; }
-        public void setDirection(String direction) { this.direction = direction; }
-    }
-
 
     public int getPage(){return page;}
     public void setPage(int page) {this.page = page;}
@@ -34,6 +24,9 @@ public class StudentSearchRequest {
     public Map<String, Object> getFilters() { return filters;}
     public void setFilters(Map<String, Object> filters) { this.filters = filters;}
 
+    public List<FilterCriterion> getCriteria() { return criteria; }
+    public void setCriteria(List<FilterCriterion> criteria) { this.criteria = criteria; }
+
     public List<SortField> getSorting() { return sorting; }
     public void setSorting(List<SortField> sorting) { this.sorting = sorting;}
 }
@@ -4,7 +4,6 @@ public class CourseResponseDTO {
     private Long id;
     private String title;
     private Integer credits;
-    private Long studentId;
 
     //getter and setter
     public Long getId() {return id; }
@@ -16,8 +15,5 @@ public class CourseResponseDTO {
     public Integer getCredits() { return credits; }
     public void setCredits(Integer credits) { this.credits = credits; }
 
-    public Long getStudentId() { return studentId; }
-    public void setStudentId(Long studentId) { this.studentId = studentId; }
-
 
 }
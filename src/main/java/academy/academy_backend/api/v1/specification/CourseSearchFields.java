@@ -0,0 +1,20 @@
+package academy.academy_backend.api.v1.specification;
+
+import java.util.Map;
+import java.util.Set;
+
+import static academy.academy_backend.api.v1.specification.FilterOperator.*;
+
+public class CourseSearchFields {
+    public static final Set<String> SORTABLE_FIELDS = Set.of(
+            "id",
+            "title",
+            "credits"
+    );
+
+    public static final Map<String, FilterField> FILTERABLE_FIELDS = Map.of(
+            "id", FilterField.of(Long.class, EQ, IN, RANGE),
+            "title", FilterField.of(String.class, EQ, IN, PREFIX),
+            "credits", FilterField.of(Integer.class, EQ, IN, RANGE)
+    );
+}
@@ -0,0 +1,31 @@
+package academy.academy_backend.api.v1.specification;
+
+import academy.academy_backend.api.v1.dto.request.FilterCriterion;
+import academy.academy_backend.domain.course.Course;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Locale;
+
+public class CourseSpecification {
+
+    public static Specification<Course> withSearchAndFilters(
+            String search,
+            List<FilterCriterion> criteria
+    ) {
+        return (root, query, cb) -> {
+            Predicate predicate = cb.conjunction();
+
+            if(search != null && !search.isBlank()) {
+                String pattern = "%" + search.toLowerCase(Locale.ROOT) + "%";
+                predicate = cb.and(predicate, cb.like(cb.lower(root.get("title")), pattern));
+            }
+
+            predicate = cb.and(predicate, FilterSpecification.toPredicate(
+                    root, query, cb, criteria, CourseSearchFields.FILTERABLE_FIELDS));
+
+            return predicate;
+        };
+    }
+}
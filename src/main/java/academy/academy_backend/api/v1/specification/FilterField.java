@@ -0,0 +1,64 @@
+package academy.academy_backend.api.v1.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Whitelist entry for one filterable field: either a column with its value
+ * type and allowed operators, or a relation that can be tested with EXISTS.
+ */
+public class FilterField {
+    private final Class<?> type;
+    private final Set<FilterOperator> operators;
+    private final RelationSubquery relation;
+    private final Map<String, FilterField> relationFields;
+
+    /**
+     * Correlates an EXISTS subquery with the owning entity and returns the
+     * related entity the nested criteria are applied to.
+     */
+    @FunctionalInterface
+    public interface RelationSubquery {
+        From<?, ?> correlate(
+                Subquery<Integer> subquery,
+                From<?, ?> owner,
+                CriteriaBuilder cb,
+                List<Predicate> where
+        );
+    }
+
+    private FilterField(
+            Class<?> type,
+            Set<FilterOperator> operators,
+            RelationSubquery relation,
+            Map<String, FilterField> relationFields
+    ) {
+        this.type = type;
+        this.operators = operators;
+        this.relation = relation;
+        this.relationFields = relationFields;
+    }
+
+    public static FilterField of(Class<?> type, FilterOperator first, FilterOperator... rest) {
+        return new FilterField(type, EnumSet.of(first, rest), null, Map.of());
+    }
+
+    public static FilterField relation(RelationSubquery relation, Map<String, FilterField> relationFields) {
+        return new FilterField(null, EnumSet.of(FilterOperator.EXISTS), relation, relationFields);
+    }
+
+    public Class<?> getType() { return type; }
+
+    public Set<FilterOperator> getOperators() { return operators; }
+
+    public RelationSubquery getRelation() { return relation; }
+
+    public Map<String, FilterField> getRelationFields() { return relationFields; }
+}
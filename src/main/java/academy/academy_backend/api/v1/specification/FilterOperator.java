@@ -0,0 +1,23 @@
+package academy.academy_backend.api.v1.specification;
+
+import academy.academy_backend.exception.InvalidSearchRequestException;
+
+public enum FilterOperator {
+    EQ,
+    IN,
+    RANGE,
+    PREFIX,
+    EXISTS;
+
+    public static FilterOperator from(String op) {
+        if (op == null) {
+            return EQ;
+        }
+        for (FilterOperator operator : values()) {
+            if (operator.name().equalsIgnoreCase(op)) {
+                return operator;
+            }
+        }
+        throw new InvalidSearchRequestException("Unknown filter operator: " + op);
+    }
+}
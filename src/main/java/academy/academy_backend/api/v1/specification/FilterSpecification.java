@@ -0,0 +1,187 @@
+package academy.academy_backend.api.v1.specification;
+
+import academy.academy_backend.api.v1.dto.request.FilterCriterion;
+import academy.academy_backend.exception.InvalidSearchRequestException;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns typed {@link FilterCriterion}s into predicates, validated against a
+ * per-entity {@link FilterField} whitelist. Every operator keeps the column
+ * bare on the left-hand side so an index on it can be used:
+ *
+ * eq     -> col = ?
+ * in     -> col IN (?, ...)
+ * range  -> col >= ? AND col <= ?   (either bound optional, both inclusive)
+ * prefix -> col LIKE 'abc%'         (case-sensitive, wildcards escaped; on PostgreSQL
+ *                                    served by the varchar_pattern_ops indexes from
+ *                                    SearchIndexMigration)
+ * exists -> EXISTS (SELECT 1 FROM ... WHERE <nested criteria>)
+ *
+ * Unknown fields are ignored, like unknown sort fields in {@link SortBuilder}.
+ */
+public class FilterSpecification {
+    private static final char LIKE_ESCAPE = '\\';
+
+    public static Predicate toPredicate(
+            From<?, ?> from,
+            AbstractQuery<?> query,
+            CriteriaBuilder cb,
+            List<FilterCriterion> criteria,
+            Map<String, FilterField> fields
+    ) {
+        Predicate predicate = cb.conjunction();
+        if (criteria == null) {
+            return predicate;
+        }
+
+        for (FilterCriterion criterion : criteria) {
+            FilterField field = fields.get(criterion.getField());
+            if (field == null) {
+                continue;
+            }
+            predicate = cb.and(predicate, toPredicate(from, query, cb, criterion, field));
+        }
+        return predicate;
+    }
+
+    private static Predicate toPredicate(
+            From<?, ?> from,
+            AbstractQuery<?> query,
+            CriteriaBuilder cb,
+            FilterCriterion criterion,
+            FilterField field
+    ) {
+        // Relation fields (exists) have no column of their own, so the path is resolved per operator
+        String name = criterion.getField();
+        return switch (operatorFor(criterion, field)) {
+            case EQ -> cb.equal(from.get(name), convert(criterion, criterion.getValue(), field));
+            case IN -> in(from.get(name), criterion, field);
+            case RANGE -> range(from.get(name), cb, criterion, field);
+            case PREFIX -> prefix(from.get(name), cb, criterion, field);
+            case EXISTS -> exists(from, query, cb, criterion, field);
+        };
+    }
+
+    public static FilterOperator operatorFor(FilterCriterion criterion, FilterField field) {
+        FilterOperator operator = FilterOperator.from(criterion.getOp());
+        if (!field.getOperators().contains(operator)) {
+            throw new InvalidSearchRequestException(
+                    "Operator '" + operator.name().toLowerCase() + "' is not allowed on field '" + criterion.getField() + "'");
+        }
+        return operator;
+    }
+
+    private static Predicate in(Expression<?> path, FilterCriterion criterion, FilterField field) {
+        return path.in(inValues(criterion, field));
+    }
+
+    public static List<Object> inValues(FilterCriterion criterion, FilterField field) {
+        if (criterion.getValues() == null || criterion.getValues().isEmpty()) {
+            throw new InvalidSearchRequestException("Field '" + criterion.getField() + "' needs at least one value for 'in'");
+        }
+        List<Object> values = new ArrayList<>();
+        for (Object value : criterion.getValues()) {
+            values.add(convert(criterion, value, field));
+        }
+        return values;
+    }
+
+    public static void requireRangeBound(FilterCriterion criterion) {
+        if (criterion.getFrom() == null && criterion.getTo() == null) {
+            throw new InvalidSearchRequestException("Field '" + criterion.getField() + "' needs 'from' and/or 'to' for 'range'");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate range(
+            Expression<?> path,
+            CriteriaBuilder cb,
+            FilterCriterion criterion,
+            FilterField field
+    ) {
+        requireRangeBound(criterion);
+        Expression<Comparable<Object>> comparable = (Expression<Comparable<Object>>) path;
+
+        Predicate predicate = cb.conjunction();
+        if (criterion.getFrom() != null) {
+            predicate = cb.and(predicate, cb.greaterThanOrEqualTo(
+                    comparable, (Comparable<Object>) convert(criterion, criterion.getFrom(), field)));
+        }
+        if (criterion.getTo() != null) {
+            predicate = cb.and(predicate, cb.lessThanOrEqualTo(
+                    comparable, (Comparable<Object>) convert(criterion, criterion.getTo(), field)));
+        }
+        return predicate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate prefix(
+            Expression<?> path,
+            CriteriaBuilder cb,
+            FilterCriterion criterion,
+            FilterField field
+    ) {
+        String value = (String) convert(criterion, criterion.getValue(), field);
+        String escaped = value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return cb.like((Expression<String>) path, escaped + "%", LIKE_ESCAPE);
+    }
+
+    private static Predicate exists(
+            From<?, ?> from,
+            AbstractQuery<?> query,
+            CriteriaBuilder cb,
+            FilterCriterion criterion,
+            FilterField field
+    ) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        List<Predicate> where = new ArrayList<>();
+        From<?, ?> related = field.getRelation().correlate(subquery, from, cb, where);
+
+        where.add(toPredicate(related, subquery, cb, criterion.getCriteria(), field.getRelationFields()));
+
+        subquery.select(cb.literal(1)).where(where.toArray(Predicate[]::new));
+        return cb.exists(subquery);
+    }
+
+    // JSON numbers arrive as Integer/Long/Double, strings as String
+    public static Object convert(FilterCriterion criterion, Object value, FilterField field) {
+        Class<?> type = field.getType();
+        try {
+            if (value == null) {
+                throw new IllegalArgumentException();
+            }
+            if (type == Integer.class) {
+                return value instanceof Number number ? Math.toIntExact(integral(number)) : Integer.valueOf(value.toString());
+            }
+            if (type == Long.class) {
+                return value instanceof Number number ? integral(number) : Long.valueOf(value.toString());
+            }
+            if (type == String.class && value instanceof String) {
+                return value;
+            }
+        } catch (IllegalArgumentException | ArithmeticException ex) {
+            // falls through to the error below
+        }
+        throw new InvalidSearchRequestException(
+                "Invalid value for field '" + criterion.getField() + "': " + value);
+    }
+
+    private static long integral(Number number) {
+        if (number.doubleValue() != number.longValue()) {
+            throw new ArithmeticException();
+        }
+        return number.longValue();
+    }
+}
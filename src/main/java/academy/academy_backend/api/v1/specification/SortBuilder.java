@@ -1,13 +1,23 @@
 package academy.academy_backend.api.v1.specification;
 
-import academy.academy_backend.api.v1.dto.request.StudentSearchRequest;
+import academy.academy_backend.api.v1.dto.request.SortField;
+import academy.academy_backend.domain.student.Student;
 import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 public class SortBuilder {
-    public static Sort build(List<StudentSearchRequest.SortField> sorting) {
+    // Text fields are compared by the caller's string order, see comparator()
+    private static final Set<String> STUDENT_TEXT_FIELDS = Set.of("name", "email");
+
+    public static Sort build(List<SortField> sorting) {
+        return build(sorting, StudentSearchFields.SORTABLE_FIELDS);
+    }
+
+    public static Sort build(List<SortField> sorting, Set<String> sortableFields) {
         if(sorting == null || sorting.isEmpty()){
             return Sort.by("id").ascending();
         }
@@ -15,7 +25,7 @@ public class SortBuilder {
         List<Sort.Order> orders = new ArrayList<>();
 
         for(var sortField: sorting) {
-            if(!StudentSearchFields.SORTABLE_FIELDS.contains(sortField.getField())){
+            if(!sortableFields.contains(sortField.getField())){
                 continue;
             }
             Sort.Direction direction =
@@ -30,4 +40,39 @@ public class SortBuilder {
                 : Sort.by(orders);
 
     };
+
+    // Appends id so the order is total: pages are stable, and the (x, id)
+    // indexes on students and courses serve ORDER BY x, id without a sort.
+    public static Sort withIdTieBreaker(Sort sort) {
+        return sort.getOrderFor("id") == null
+                ? sort.and(Sort.by("id"))
+                : sort;
+    }
+
+    public static boolean sortsByText(Sort sort) {
+        return sort.stream().anyMatch(order -> STUDENT_TEXT_FIELDS.contains(order.getProperty()));
+    }
+
+    // In-memory equivalent of a Sort from build(), with id as the final tie-breaker.
+    // stringOrder must match the database collation for the result to agree with ORDER BY.
+    public static Comparator<Student> comparator(Sort sort, Comparator<String> stringOrder) {
+        Comparator<Student> comparator = (a, b) -> 0;
+
+        for(Sort.Order order: sort) {
+            Comparator<Student> field = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(Student::getId);
+                case "name" -> Comparator.comparing(Student::getName, stringOrder);
+                case "email" -> Comparator.comparing(Student::getEmail, stringOrder);
+                case "age" -> Comparator.comparing(Student::getAge);
+                default -> null;
+            };
+            if(field == null) {
+                continue;
+            }
+            comparator = comparator.thenComparing(
+                    order.isDescending() ? field.reversed() : field);
+        }
+
+        return comparator.thenComparing(Student::getId);
+    }
 }
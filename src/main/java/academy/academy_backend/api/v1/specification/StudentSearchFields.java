@@ -1,7 +1,15 @@
 package academy.academy_backend.api.v1.specification;
 
+import academy.academy_backend.api.v1.dto.request.FilterCriterion;
+import academy.academy_backend.domain.enrollment.Enrollment;
+import jakarta.persistence.criteria.Root;
+
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static academy.academy_backend.api.v1.specification.FilterOperator.*;
+
 public class StudentSearchFields {
     public static final Set<String> SORTABLE_FIELDS = Set.of(
             "id",
@@ -10,7 +18,36 @@ public class StudentSearchFields {
             "age"
     );
 
-    public static final Set<String> FILTERABLE_FIELDS = Set.of(
+    public static final Map<String, FilterField> FILTERABLE_FIELDS = Map.of(
+            "id", FilterField.of(Long.class, EQ, IN, RANGE),
+            "name", FilterField.of(String.class, EQ, IN, PREFIX),
+            "email", FilterField.of(String.class, EQ, IN, PREFIX),
+            "age", FilterField.of(Integer.class, EQ, IN, RANGE),
+            // students with at least one enrolled course matching the nested criteria
+            "courses", FilterField.relation(
+                    (subquery, student, cb, where) -> {
+                        Root<Enrollment> enrollment = subquery.from(Enrollment.class);
+                        where.add(cb.equal(enrollment.get("student").get("id"), student.get("id")));
+                        return enrollment.join("course");
+                    },
+                    CourseSearchFields.FILTERABLE_FIELDS
+            )
+    );
+
+    // The plain { "field": value } filters map keeps its original whitelist
+    public static final Set<String> LEGACY_FILTERABLE_FIELDS = Set.of(
             "email"
     );
+
+    // Legacy filters as eq criteria; other keys are ignored, as they always were
+    public static List<FilterCriterion> legacyCriteria(Map<String, Object> filters) {
+        if (filters == null) {
+            return List.of();
+        }
+        return filters.entrySet()
+                .stream()
+                .filter(entry -> LEGACY_FILTERABLE_FIELDS.contains(entry.getKey()))
+                .map(entry -> new FilterCriterion(entry.getKey(), "eq", entry.getValue()))
+                .toList();
+    }
 }
@@ -1,22 +1,26 @@
 package academy.academy_backend.api.v1.specification;
 
+import academy.academy_backend.api.v1.dto.request.FilterCriterion;
 import academy.academy_backend.domain.student.Student;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class StudentSpecification {
 
     public static Specification<Student> withSearchAndFilters(
             String search,
-            Map<String, Object> filters
+            Map<String, Object> filters,
+            List<FilterCriterion> criteria
     ) {
         return (root, query, cb) -> {
             Predicate predicate = cb.conjunction();
 
             if(search != null && !search.isBlank()) {
-                String pattern = "%" + search.toLowerCase() + "%";
+                String pattern = "%" + search.toLowerCase(Locale.ROOT) + "%";
 
                 Predicate searchPredicate = cb.or(
                         cb.like(cb.lower(root.get("name")), pattern),
@@ -26,16 +30,11 @@ public class StudentSpecification {
 
             }
 
-            if(filters != null) {
-                for(Map.Entry<String, Object> entry: filters.entrySet()){
-                    if(!StudentSearchFields.FILTERABLE_FIELDS.contains(entry.getKey())){
-                        continue;
-                    }
-                    predicate = cb.and(predicate,
-                            cb.equal(root.get(entry.getKey()), entry.getValue())
-                            );
-                }
-            }
+            predicate = cb.and(predicate, FilterSpecification.toPredicate(
+                    root, query, cb, StudentSearchFields.legacyCriteria(filters), StudentSearchFields.FILTERABLE_FIELDS));
+
+            predicate = cb.and(predicate, FilterSpecification.toPredicate(
+                    root, query, cb, criteria, StudentSearchFields.FILTERABLE_FIELDS));
 
             return predicate;
         };
@@ -0,0 +1,64 @@
+package academy.academy_backend.directory;
+
+import java.util.Arrays;
+
+/**
+ * Growable int[] used for row lists, so posting lists and result sets don't
+ * box every row number.
+ */
+class IntList {
+    private int[] items;
+    private int size;
+
+    IntList() {
+        this(8);
+    }
+
+    IntList(int capacity) {
+        this.items = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = value;
+    }
+
+    int get(int index) { return items[index]; }
+
+    int size() { return size; }
+
+    int[] toArray() { return Arrays.copyOf(items, size); }
+
+    // Stable merge sort, the JDK has no comparator sort for int[]
+    void sort(SortedRowIndex.RowOrder order) {
+        if (size < 2) {
+            return;
+        }
+        int[] buffer = new int[size];
+        mergeSort(items, buffer, 0, size, order);
+    }
+
+    private static void mergeSort(int[] a, int[] buffer, int from, int to, SortedRowIndex.RowOrder order) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, buffer, from, mid, order);
+        mergeSort(a, buffer, mid, to, order);
+        if (order.compare(a[mid - 1], a[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && order.compare(buffer[left], buffer[right]) <= 0)) {
+                a[i] = buffer[left++];
+            } else {
+                a[i] = buffer[right++];
+            }
+        }
+    }
+}
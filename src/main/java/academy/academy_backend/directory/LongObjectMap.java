@@ -0,0 +1,82 @@
+package academy.academy_backend.directory;
+
+import java.util.function.Supplier;
+
+/**
+ * Open-addressing long -> object map (trigram -> posting list) without boxing
+ * the keys. Entries are never removed.
+ */
+class LongObjectMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size;
+
+    LongObjectMap() {
+        keys = new long[1024];
+        values = new Object[1024];
+        used = new boolean[1024];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    V computeIfAbsent(long key, Supplier<V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.get();
+            put(key, value);
+        }
+        return value;
+    }
+
+    void put(long key, V value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
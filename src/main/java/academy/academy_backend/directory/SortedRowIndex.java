@@ -0,0 +1,150 @@
+package academy.academy_backend.directory;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Rows kept sorted by one field with id as tie-breaker, in a large sorted
+ * array plus a small sorted delta. An insert only shifts the delta; once the
+ * delta outgrows about the square root of the main array it is merged in
+ * with one linear pass, so a single write costs O(sqrt n) instead of O(n).
+ * Removal is lazy: rows that are no longer live are skipped by readers and
+ * dropped by the next merge. A bulk load fills the rows once through
+ * {@link #rebuild}.
+ */
+class SortedRowIndex {
+    private static final int MIN_DELTA = 256;
+
+    @FunctionalInterface
+    interface RowOrder {
+        int compare(int rowA, int rowB);
+
+        default RowOrder reversed() {
+            return (a, b) -> compare(b, a);
+        }
+
+        default RowOrder thenComparing(RowOrder next) {
+            return (a, b) -> {
+                int result = compare(a, b);
+                return result != 0 ? result : next.compare(a, b);
+            };
+        }
+    }
+
+    private final RowOrder fieldOrder;
+    private final RowOrder order;
+    private final IntPredicate live;
+    private int[] main = new int[0];
+    private int mainSize;
+    private int[] delta = new int[MIN_DELTA];
+    private int deltaSize;
+
+    SortedRowIndex(RowOrder fieldOrder, RowOrder idOrder, IntPredicate live) {
+        this.fieldOrder = fieldOrder;
+        this.order = fieldOrder.thenComparing(idOrder);
+        this.live = live;
+    }
+
+    void add(int row) {
+        if (deltaSize == delta.length) {
+            delta = Arrays.copyOf(delta, deltaSize * 2);
+        }
+        int position = lowerBound(delta, deltaSize, row);
+        System.arraycopy(delta, position, delta, position + 1, deltaSize - position);
+        delta[position] = row;
+        deltaSize++;
+
+        if (deltaSize >= Math.max(MIN_DELTA, (int) Math.sqrt(mainSize))) {
+            mergeDelta();
+        }
+    }
+
+    // O(n log n) once instead of n inserts
+    void rebuild(IntList liveRows) {
+        IntList sorted = new IntList(liveRows.size());
+        for (int i = 0; i < liveRows.size(); i++) {
+            sorted.add(liveRows.get(i));
+        }
+        sorted.sort(order);
+        main = sorted.toArray();
+        mainSize = main.length;
+        deltaSize = 0;
+    }
+
+    /**
+     * Adds the live rows passing {@code filter} to {@code out} in index order.
+     * Descending walks groups of equal keys backwards but keeps each group
+     * in id order, like ORDER BY field DESC, id ASC.
+     */
+    void walk(boolean descending, IntPredicate filter, IntList out) {
+        if (!descending) {
+            int i = 0;
+            int j = 0;
+            while (i < mainSize || j < deltaSize) {
+                int row = j == deltaSize || (i < mainSize && order.compare(main[i], delta[j]) < 0)
+                        ? main[i++]
+                        : delta[j++];
+                if (live.test(row) && filter.test(row)) {
+                    out.add(row);
+                }
+            }
+            return;
+        }
+
+        IntList group = new IntList();
+        int i = mainSize - 1;
+        int j = deltaSize - 1;
+        while (i >= 0 || j >= 0) {
+            int row = j < 0 || (i >= 0 && order.compare(main[i], delta[j]) > 0)
+                    ? main[i--]
+                    : delta[j--];
+            if (!live.test(row) || !filter.test(row)) {
+                continue;
+            }
+            if (group.size() > 0 && fieldOrder.compare(group.get(0), row) != 0) {
+                addReversed(group, out);
+                group = new IntList();
+            }
+            group.add(row);
+        }
+        addReversed(group, out);
+    }
+
+    private static void addReversed(IntList group, IntList out) {
+        for (int k = group.size() - 1; k >= 0; k--) {
+            out.add(group.get(k));
+        }
+    }
+
+    private void mergeDelta() {
+        int[] merged = new int[mainSize + deltaSize];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < mainSize || j < deltaSize) {
+            int row = j == deltaSize || (i < mainSize && order.compare(main[i], delta[j]) < 0)
+                    ? main[i++]
+                    : delta[j++];
+            if (live.test(row)) {
+                merged[size++] = row;
+            }
+        }
+        main = merged;
+        mainSize = size;
+        deltaSize = 0;
+    }
+
+    private int lowerBound(int[] rows, int size, int row) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(rows[mid], row) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
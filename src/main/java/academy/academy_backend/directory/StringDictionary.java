@@ -0,0 +1,99 @@
+package academy.academy_backend.directory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a string column: each distinct value is stored
+ * once and rows keep its int code.
+ */
+class StringDictionary {
+    static final int ABSENT = -1;
+
+    private static final char CAPITAL_SIGMA = 'Σ';
+    private static final char SMALL_SIGMA = 'σ';
+    private static final char FINAL_SIGMA = 'ς';
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> lowerValues = new ArrayList<>();
+
+    // Lower-case chars that some value may or may not contain depending on how
+    // it is lower-cased, e.g. 'i' and U+0307 from 'İ', σ and ς from Σ.
+    private final BitSet ambiguousLowerChars = new BitSet();
+
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        values.add(value);
+        lowerValues.add(value.toLowerCase(Locale.ROOT));
+        markAmbiguousLowerChars(value);
+        codes.put(value, values.size() - 1);
+        return values.size() - 1;
+    }
+
+    int codeOf(String value) {
+        Integer code = codes.get(value);
+        return code == null ? ABSENT : code;
+    }
+
+    String value(int code) { return values.get(code); }
+
+    // lower-cased the same way StudentSpecification lower-cases the search term
+    String lower(int code) { return lowerValues.get(code); }
+
+    int size() { return values.size(); }
+
+    /**
+     * True if {@code lowerTerm} contains a char whose presence in some value's
+     * lower-case form depends on the database's case mapping, so a substring
+     * match in memory could disagree with LOWER(col) LIKE.
+     */
+    boolean mayDisagreeWithDatabase(String lowerTerm) {
+        for (int i = 0; i < lowerTerm.length(); i++) {
+            if (ambiguousLowerChars.get(lowerTerm.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if lower-casing {@code value} depends on context or locale:
+     * Σ becomes σ or ς depending on its position, and characters such as 'İ'
+     * have a multi-char Java mapping where databases map char by char.
+     */
+    static boolean hasSensitiveCaseMapping(String value) {
+        return value.codePoints().anyMatch(StringDictionary::isSensitive);
+    }
+
+    private void markAmbiguousLowerChars(String value) {
+        value.codePoints().filter(StringDictionary::isSensitive).forEach(codePoint -> {
+            if (codePoint == CAPITAL_SIGMA) {
+                ambiguousLowerChars.set(SMALL_SIGMA);
+                ambiguousLowerChars.set(FINAL_SIGMA);
+                return;
+            }
+            String mapped = Character.toString(codePoint).toLowerCase(Locale.ROOT)
+                    + Character.toString(Character.toLowerCase(codePoint));
+            mapped.chars().forEach(ambiguousLowerChars::set);
+        });
+    }
+
+    private static boolean isSensitive(int codePoint) {
+        if (codePoint < 0x80) {
+            return false;
+        }
+        if (codePoint == CAPITAL_SIGMA) {
+            return true;
+        }
+        return !Character.toString(codePoint).toLowerCase(Locale.ROOT)
+                .equals(Character.toString(Character.toLowerCase(codePoint)));
+    }
+}
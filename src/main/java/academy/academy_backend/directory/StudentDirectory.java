@@ -0,0 +1,492 @@
+package academy.academy_backend.directory;
+
+import academy.academy_backend.api.v1.dto.request.FilterCriterion;
+import academy.academy_backend.api.v1.dto.request.StudentSearchRequest;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
+import academy.academy_backend.api.v1.specification.FilterField;
+import academy.academy_backend.api.v1.specification.FilterOperator;
+import academy.academy_backend.api.v1.specification.FilterSpecification;
+import academy.academy_backend.api.v1.specification.SortBuilder;
+import academy.academy_backend.api.v1.specification.StudentSearchFields;
+import academy.academy_backend.sharding.ShardCollation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Column-oriented in-memory copy of the students table that answers
+ * {@link StudentSearchRequest}s with the same semantics as StudentSpecification:
+ * lower-cased substring search on name/email, legacy equality filters and the
+ * eq/in/range/prefix criteria from {@link StudentSearchFields#FILTERABLE_FIELDS}.
+ *
+ * - ids are a long[], ages an int[], name/email are dictionary-encoded int[]
+ * - one {@link SortedRowIndex} per sortable field
+ * - a trigram index narrows the search term to a candidate list
+ * - rows replaced by upserts are compacted away once they outnumber live rows
+ *
+ * Requests it can't answer identically (EXISTS filters on courses, LIKE
+ * wildcards or case-mapping-sensitive text in the search term) return empty
+ * and go to the database.
+ * Ties in the requested sort are broken by id ascending, as on the JPA path.
+ * Strings compare by code point, i.e. like the C collation; name/email sorts
+ * are only served once {@link #setCodePointCollation} confirms the database
+ * sorts that way too.
+ */
+@Component
+@ConditionalOnProperty(name = "academy.directory.enabled", havingValue = "true")
+public class StudentDirectory {
+    private static final int NGRAM = 3;
+    private static final int MIN_DEAD_ROWS_TO_COMPACT = 4096;
+    private static final NotServable NOT_SERVABLE = new NotServable();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private volatile boolean codePointCollation;
+    private boolean bulkLoading;
+
+    // One slot per row. Rows are append-only: a changed student gets a new row
+    // and the old one leaves the live set. Dead rows, their trigram postings
+    // and dictionary entries stay until compact() rebuilds from the live rows.
+    private long[] ids = new long[1024];
+    private int[] ages = new int[1024];
+    private int[] nameCodes = new int[1024];
+    private int[] emailCodes = new int[1024];
+    private BitSet live = new BitSet();
+    private int rows;
+    private int liveRows;
+
+    private LongIntMap rowById = new LongIntMap();
+    private StringDictionary names = new StringDictionary();
+    private StringDictionary emails = new StringDictionary();
+
+    private final Map<String, SortedRowIndex.RowOrder> fieldOrders;
+    private final Map<String, SortedRowIndex> sortIndexes = new HashMap<>();
+    private LongObjectMap<IntList> ngrams = new LongObjectMap<>();
+
+    // Thrown while compiling a request the directory can't answer; never escapes search()
+    private static class NotServable extends RuntimeException {
+        NotServable() {
+            super(null, null, false, false);
+        }
+    }
+
+    public StudentDirectory() {
+        SortedRowIndex.RowOrder byId = (a, b) -> Long.compare(ids[a], ids[b]);
+        fieldOrders = Map.<String, SortedRowIndex.RowOrder>of(
+                "id", byId,
+                "name", (a, b) -> compareCodes(names, nameCodes[a], nameCodes[b]),
+                "email", (a, b) -> compareCodes(emails, emailCodes[a], emailCodes[b]),
+                "age", (a, b) -> Integer.compare(ages[a], ages[b])
+        );
+
+        for (String field : StudentSearchFields.SORTABLE_FIELDS) {
+            SortedRowIndex.RowOrder order = fieldOrders.get(field);
+            if (order == null) {
+                throw new IllegalStateException("No in-memory order for sortable field: " + field);
+            }
+            sortIndexes.put(field, new SortedRowIndex(order, byId, row -> live.get(row)));
+        }
+    }
+
+    public boolean isReady() { return ready; }
+
+    public void markReady() { this.ready = true; }
+
+    public void setCodePointCollation(boolean codePointCollation) { this.codePointCollation = codePointCollation; }
+
+    /**
+     * Until {@link #endBulkLoad()}, upserts only append rows; the sort indexes
+     * are then built once from the live rows instead of one insert per row.
+     */
+    public void beginBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            bulkLoading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endBulkLoad() {
+        lock.writeLock().lock();
+        try {
+            bulkLoading = false;
+            rebuildSortIndexes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void upsert(long id, String name, String email, int age) {
+        lock.writeLock().lock();
+        try {
+            int existing = rowById.get(id);
+            if (existing != LongIntMap.ABSENT) {
+                if (ages[existing] == age
+                        && names.value(nameCodes[existing]).equals(name)
+                        && emails.value(emailCodes[existing]).equals(email)) {
+                    return;
+                }
+                // the sort indexes skip it from now on and drop it when they merge
+                live.clear(existing);
+                liveRows--;
+            }
+
+            int row = append(id, name, email, age);
+            rowById.put(id, row);
+            live.set(row);
+            liveRows++;
+            if (!bulkLoading) {
+                sortIndexes.values().forEach(index -> index.add(row));
+            }
+            indexNgrams(row);
+
+            int deadRows = rows - liveRows;
+            if (deadRows >= MIN_DEAD_ROWS_TO_COMPACT && deadRows > liveRows) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Page<StudentResponseDTO>> search(StudentSearchRequest request) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        Sort sort = SortBuilder.withIdTieBreaker(SortBuilder.build(request.getSorting()));
+        if (!codePointCollation && SortBuilder.sortsByText(sort)) {
+            return Optional.empty();
+        }
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
+
+        lock.readLock().lock();
+        try {
+            String term = searchTerm(request.getSearch());
+            IntPredicate filter = compileFilters(request);
+            if (term != null) {
+                filter = filter.and(row -> names.lower(nameCodes[row]).contains(term)
+                        || emails.lower(emailCodes[row]).contains(term));
+            }
+
+            IntList matches = match(term, filter, sort.toList());
+
+            List<StudentResponseDTO> content = new ArrayList<>();
+            long end = Math.min(matches.size(), pageable.getOffset() + pageable.getPageSize());
+            for (long i = pageable.getOffset(); i < end; i++) {
+                content.add(toDTO(matches.get((int) i)));
+            }
+            return Optional.of(new PageImpl<>(content, pageable, matches.size()));
+        } catch (NotServable ex) {
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntList match(String term, IntPredicate filter, List<Sort.Order> orders) {
+        IntList matches = new IntList();
+
+        // search term: verify the rows of its rarest trigram
+        if (term != null && term.length() >= NGRAM) {
+            IntList candidates = ngramCandidates(term);
+            for (int i = 0; i < candidates.size(); i++) {
+                int row = candidates.get(i);
+                if (live.get(row) && filter.test(row)) {
+                    matches.add(row);
+                }
+            }
+            matches.sort(rowOrder(orders));
+            return matches;
+        }
+
+        // sort on one field, then id: the index already has the order
+        Sort.Order first = orders.get(0);
+        boolean indexOrder = orders.size() == 1
+                || (orders.size() == 2 && orders.get(1).getProperty().equals("id") && orders.get(1).isAscending());
+        if (indexOrder) {
+            sortIndexes.get(first.getProperty()).walk(first.isDescending(), filter, matches);
+            return matches;
+        }
+
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            if (filter.test(row)) {
+                matches.add(row);
+            }
+        }
+        matches.sort(rowOrder(orders));
+        return matches;
+    }
+
+    private SortedRowIndex.RowOrder rowOrder(List<Sort.Order> orders) {
+        SortedRowIndex.RowOrder order = (a, b) -> 0;
+        for (Sort.Order sortOrder : orders) {
+            SortedRowIndex.RowOrder field = fieldOrders.get(sortOrder.getProperty());
+            order = order.thenComparing(sortOrder.isDescending() ? field.reversed() : field);
+        }
+        return order.thenComparing(fieldOrders.get("id"));
+    }
+
+    // Same term handling as StudentSpecification, which puts it into LIKE unescaped.
+    // Where Java's and the database's lower-casing may differ (Σ, İ, ...) in the
+    // term or in values it could match, the database answers.
+    private String searchTerm(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        String term = search.toLowerCase(Locale.ROOT);
+        if (term.indexOf('%') >= 0 || term.indexOf('_') >= 0 || term.indexOf('\\') >= 0) {
+            throw NOT_SERVABLE;
+        }
+        if (StringDictionary.hasSensitiveCaseMapping(search)
+                || names.mayDisagreeWithDatabase(term)
+                || emails.mayDisagreeWithDatabase(term)) {
+            throw NOT_SERVABLE;
+        }
+        return term;
+    }
+
+    private IntPredicate compileFilters(StudentSearchRequest request) {
+        List<FilterCriterion> criteria = new ArrayList<>(StudentSearchFields.legacyCriteria(request.getFilters()));
+        if (request.getCriteria() != null) {
+            criteria.addAll(request.getCriteria());
+        }
+
+        IntPredicate filter = row -> true;
+        for (FilterCriterion criterion : criteria) {
+            FilterField field = StudentSearchFields.FILTERABLE_FIELDS.get(criterion.getField());
+            if (field == null) {
+                continue;
+            }
+            FilterOperator operator = FilterSpecification.operatorFor(criterion, field);
+            filter = filter.and(switch (criterion.getField()) {
+                case "id" -> numericColumn(criterion, field, operator, row -> ids[row]);
+                case "age" -> numericColumn(criterion, field, operator, row -> ages[row]);
+                case "name" -> stringColumn(criterion, field, operator, names, row -> nameCodes[row]);
+                case "email" -> stringColumn(criterion, field, operator, emails, row -> emailCodes[row]);
+                default -> throw NOT_SERVABLE;
+            });
+        }
+        return filter;
+    }
+
+    private IntPredicate numericColumn(
+            FilterCriterion criterion,
+            FilterField field,
+            FilterOperator operator,
+            IntToLongFunction column
+    ) {
+        return switch (operator) {
+            case EQ -> {
+                long value = number(criterion, criterion.getValue(), field);
+                yield row -> column.applyAsLong(row) == value;
+            }
+            case IN -> {
+                long[] values = FilterSpecification.inValues(criterion, field)
+                        .stream()
+                        .mapToLong(value -> ((Number) value).longValue())
+                        .sorted()
+                        .toArray();
+                yield row -> Arrays.binarySearch(values, column.applyAsLong(row)) >= 0;
+            }
+            case RANGE -> {
+                FilterSpecification.requireRangeBound(criterion);
+                long from = criterion.getFrom() == null ? Long.MIN_VALUE : number(criterion, criterion.getFrom(), field);
+                long to = criterion.getTo() == null ? Long.MAX_VALUE : number(criterion, criterion.getTo(), field);
+                yield row -> {
+                    long value = column.applyAsLong(row);
+                    return value >= from && value <= to;
+                };
+            }
+            default -> throw NOT_SERVABLE;
+        };
+    }
+
+    private IntPredicate stringColumn(
+            FilterCriterion criterion,
+            FilterField field,
+            FilterOperator operator,
+            StringDictionary dictionary,
+            IntUnaryOperator column
+    ) {
+        return switch (operator) {
+            case EQ -> {
+                int code = dictionary.codeOf((String) FilterSpecification.convert(criterion, criterion.getValue(), field));
+                yield row -> column.applyAsInt(row) == code;
+            }
+            case IN -> {
+                BitSet codes = new BitSet();
+                for (Object value : FilterSpecification.inValues(criterion, field)) {
+                    int code = dictionary.codeOf((String) value);
+                    if (code != StringDictionary.ABSENT) {
+                        codes.set(code);
+                    }
+                }
+                yield row -> codes.get(column.applyAsInt(row));
+            }
+            case PREFIX -> {
+                // evaluated once per distinct value, then rows just test their code
+                String prefix = (String) FilterSpecification.convert(criterion, criterion.getValue(), field);
+                BitSet codes = new BitSet(dictionary.size());
+                for (int code = 0; code < dictionary.size(); code++) {
+                    if (dictionary.value(code).startsWith(prefix)) {
+                        codes.set(code);
+                    }
+                }
+                yield row -> codes.get(column.applyAsInt(row));
+            }
+            default -> throw NOT_SERVABLE;
+        };
+    }
+
+    private static long number(FilterCriterion criterion, Object value, FilterField field) {
+        return ((Number) FilterSpecification.convert(criterion, value, field)).longValue();
+    }
+
+    private IntList ngramCandidates(String term) {
+        IntList shortest = null;
+        for (int i = 0; i + NGRAM <= term.length(); i++) {
+            IntList postings = ngrams.get(gram(term, i));
+            if (postings == null) {
+                return new IntList(1);
+            }
+            if (shortest == null || postings.size() < shortest.size()) {
+                shortest = postings;
+            }
+        }
+        return shortest;
+    }
+
+    private void indexNgrams(int row) {
+        String name = names.lower(nameCodes[row]);
+        String email = emails.lower(emailCodes[row]);
+
+        long[] grams = new long[gramCount(name) + gramCount(email)];
+        int count = addGrams(name, grams, 0);
+        addGrams(email, grams, count);
+        Arrays.sort(grams);
+
+        // a row is listed once per distinct gram
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                ngrams.computeIfAbsent(grams[i], IntList::new).add(row);
+            }
+        }
+    }
+
+    private static int gramCount(String value) {
+        return Math.max(0, value.length() - NGRAM + 1);
+    }
+
+    private static int addGrams(String value, long[] grams, int offset) {
+        for (int i = 0; i + NGRAM <= value.length(); i++) {
+            grams[offset++] = gram(value, i);
+        }
+        return offset;
+    }
+
+    private static long gram(String value, int start) {
+        return ((long) value.charAt(start) << 32)
+                | ((long) value.charAt(start + 1) << 16)
+                | value.charAt(start + 2);
+    }
+
+    // Copies the live rows into fresh columns, dictionaries and indexes.
+    // O(n log n), and only once at least as many rows have died since the last one.
+    private void compact() {
+        long[] oldIds = ids;
+        int[] oldAges = ages;
+        int[] oldNameCodes = nameCodes;
+        int[] oldEmailCodes = emailCodes;
+        StringDictionary oldNames = names;
+        StringDictionary oldEmails = emails;
+        BitSet oldLive = live;
+
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(liveRows, 1)) * 2);
+        ids = new long[capacity];
+        ages = new int[capacity];
+        nameCodes = new int[capacity];
+        emailCodes = new int[capacity];
+        rows = 0;
+        live = new BitSet(capacity);
+        rowById = new LongIntMap();
+        names = new StringDictionary();
+        emails = new StringDictionary();
+        ngrams = new LongObjectMap<>();
+
+        for (int old = oldLive.nextSetBit(0); old >= 0; old = oldLive.nextSetBit(old + 1)) {
+            int row = append(oldIds[old], oldNames.value(oldNameCodes[old]), oldEmails.value(oldEmailCodes[old]), oldAges[old]);
+            rowById.put(oldIds[old], row);
+            live.set(row);
+            indexNgrams(row);
+        }
+        if (!bulkLoading) {
+            rebuildSortIndexes();
+        }
+    }
+
+    private void rebuildSortIndexes() {
+        IntList rowList = new IntList(liveRows);
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            rowList.add(row);
+        }
+        sortIndexes.values().forEach(index -> index.rebuild(rowList));
+    }
+
+    private int append(long id, String name, String email, int age) {
+        if (rows == ids.length) {
+            int capacity = rows * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            nameCodes = Arrays.copyOf(nameCodes, capacity);
+            emailCodes = Arrays.copyOf(emailCodes, capacity);
+        }
+        ids[rows] = id;
+        ages[rows] = age;
+        nameCodes[rows] = names.encode(name);
+        emailCodes[rows] = emails.encode(email);
+        return rows++;
+    }
+
+    private static int compareCodes(StringDictionary dictionary, int a, int b) {
+        return a == b ? 0 : ShardCollation.compareCodePoints(dictionary.value(a), dictionary.value(b));
+    }
+
+    private StudentResponseDTO toDTO(int row) {
+        StudentResponseDTO dto = new StudentResponseDTO();
+
+        dto.setId(ids[row]);
+        dto.setName(names.value(nameCodes[row]));
+        dto.setEmail(emails.value(emailCodes[row]));
+        dto.setAge(ages[row]);
+
+        return dto;
+    }
+}
@@ -0,0 +1,125 @@
+package academy.academy_backend.directory;
+
+import academy.academy_backend.domain.student.Student;
+import academy.academy_backend.domain.student.StudentSavedEvent;
+import academy.academy_backend.repository.StudentRepository;
+import academy.academy_backend.sharding.ShardCollation;
+import academy.academy_backend.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Fills the {@link StudentDirectory} with a streaming scan of every shard once
+ * the application is up, then keeps it current two ways:
+ * - {@link StudentSavedEvent}s from this instance, applied as they commit,
+ * - a periodic catch-up scan of students updated since the previous scan,
+ *   which picks up writes made by other instances.
+ * Searches use the database until the first scan has finished.
+ */
+@Component
+@ConditionalOnProperty(name = "academy.directory.enabled", havingValue = "true")
+public class StudentDirectoryLoader {
+    private final StudentDirectory studentDirectory;
+    private final StudentRepository studentRepository;
+    private final ShardRouter shardRouter;
+    private final ShardCollation shardCollation;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration catchUpOverlap;
+
+    private volatile LocalDateTime lastScanStart;
+
+    public StudentDirectoryLoader(
+            StudentDirectory studentDirectory,
+            StudentRepository studentRepository,
+            ShardRouter shardRouter,
+            ShardCollation shardCollation,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${academy.directory.catch-up-overlap:1m}") Duration catchUpOverlap
+    ) {
+        this.studentDirectory = studentDirectory;
+        this.studentRepository = studentRepository;
+        this.shardRouter = shardRouter;
+        this.shardCollation = shardCollation;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.catchUpOverlap = catchUpOverlap;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        // name/email sorts are served from memory only in code point order
+        studentDirectory.setCodePointCollation(shardCollation.sortsByCodePoint());
+        lastScanStart = LocalDateTime.now();
+        loadInto(studentDirectory);
+        studentDirectory.markReady();
+    }
+
+    // Upserts are idempotent, so students saved while the scan runs are safe either way
+    public void loadInto(StudentDirectory directory) {
+        directory.beginBulkLoad();
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                scan(shard, directory, studentRepository::streamAllStudents);
+            }
+        } finally {
+            directory.endBulkLoad();
+        }
+    }
+
+    /**
+     * Re-reads students whose updated_at is at most {@code catch-up-overlap}
+     * older than the previous scan. The overlap covers transactions that
+     * commit after the scan started and clock skew between instances. Other
+     * instances' writes show up here within one interval plus that skew.
+     */
+    @Scheduled(
+            initialDelayString = "${academy.directory.catch-up-interval:5s}",
+            fixedDelayString = "${academy.directory.catch-up-interval:5s}"
+    )
+    public void catchUp() {
+        if (!studentDirectory.isReady()) {
+            return;
+        }
+        LocalDateTime scanStart = LocalDateTime.now();
+        LocalDateTime since = lastScanStart.minus(catchUpOverlap);
+
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            scan(shard, studentDirectory, () -> studentRepository.streamStudentsUpdatedSince(since));
+        }
+        lastScanStart = scanStart;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStudentSaved(StudentSavedEvent event) {
+        studentDirectory.upsert(event.getId(), event.getName(), event.getEmail(), event.getAge());
+    }
+
+    private void scan(int shard, StudentDirectory directory, Supplier<Stream<Student>> query) {
+        shardRouter.onShard(shard, () -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Student> students = query.get()) {
+                students.forEach(student -> {
+                    directory.upsert(student.getId(), student.getName(), student.getEmail(), student.getAge());
+                    // keep the persistence context from holding the whole table
+                    entityManager.detach(student);
+                });
+            }
+        }));
+    }
+}
@@ -1,10 +1,15 @@
 package academy.academy_backend.domain.course;
 
-import academy.academy_backend.domain.student.Student;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "courses")
+@Table(
+        name = "courses",
+        indexes = {
+                @Index(name = "idx_courses_title_id", columnList = "title, id"),
+                @Index(name = "idx_courses_credits_id", columnList = "credits, id")
+        }
+)
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,10 +21,6 @@ public class Course {
     @Column(nullable = false)
     private Integer credits;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "student_id", nullable = false)
-    private Student student;
-
     // getter and setters
     public Course() {}
 
@@ -31,7 +32,4 @@ public class Course {
 
     public Integer getCredits() { return credits; }
     public void setCredits(Integer credits) { this.credits = credits; }
-
-    public Student getStudent() { return student; }
-    public void setStudent(Student student) { this.student = student;}
 }
@@ -0,0 +1,63 @@
+package academy.academy_backend.domain.enrollment;
+
+import academy.academy_backend.domain.audit.BaseEntity;
+import academy.academy_backend.domain.course.Course;
+import academy.academy_backend.domain.student.Student;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Join entity between a student and a catalog course.
+ * Hibernate orders the columns of an embedded id alphabetically, so the
+ * primary key is (course_id, student_id) and serves "students of a course";
+ * the (student_id, course_id) index serves "courses of a student".
+ */
+@Entity
+@Table(
+        name = "enrollments",
+        indexes = @Index(name = "idx_enrollments_student_course", columnList = "student_id, course_id")
+)
+public class Enrollment extends BaseEntity implements Persistable<EnrollmentId> {
+    @EmbeddedId
+    private EnrollmentId id;
+
+    @MapsId("studentId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id")
+    private Student student;
+
+    @MapsId("courseId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    // The id is assigned by us, so save() can't tell new rows apart without this.
+    // Keeps bulk enroll to plain INSERTs instead of a SELECT + INSERT per row.
+    @Transient
+    private boolean isNew = true;
+
+    public Enrollment() {} // REQUIRED by JPA
+
+    public Enrollment(Student student, Course course) {
+        this.id = new EnrollmentId(student.getId(), course.getId());
+        this.student = student;
+        this.course = course;
+    }
+
+    @Override
+    public EnrollmentId getId() { return id; }
+    public void setId(EnrollmentId id) { this.id = id; }
+
+    public Student getStudent() { return student; }
+    public void setStudent(Student student) { this.student = student; }
+
+    public Course getCourse() { return course; }
+    public void setCourse(Course course) { this.course = course; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+}
@@ -1,14 +1,17 @@
 package academy.academy_backend.domain.student;
 
 import academy.academy_backend.domain.audit.BaseEntity;
-import academy.academy_backend.domain.course.Course;
 import jakarta.persistence.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Entity
-@Table(name="students")
+@Table(
+        name="students",
+        indexes = {
+                @Index(name = "idx_students_name_id", columnList = "name, id"),
+                @Index(name = "idx_students_age_id", columnList = "age, id"),
+                @Index(name = "idx_students_updated_at", columnList = "updated_at")
+        }
+)
 public class Student extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,13 +26,6 @@ public class Student extends BaseEntity {
     @Column(nullable = false)
     private Integer age;
 
-    @OneToMany(
-            mappedBy = "student",
-            cascade = CascadeType.ALL,
-            orphanRemoval = true
-    )
-    private List<Course> courses = new ArrayList<>();
-
     public Student() {} // REQUIRED by JPA & Jackson
 
     public Long getId(){return id;}
@@ -43,7 +39,4 @@ public class Student extends BaseEntity {
 
     public Integer getAge(){ return age;}
     public void setAge(Integer age) {this.age = age;}
-
-    public List<Course> getCourses() { return courses; }
-    public void setCourses(List<Course> courses) { this.courses = courses; }
 }
@@ -0,0 +1,27 @@
+package academy.academy_backend.domain.student;
+
+/**
+ * Published inside the transaction that saved a student; listeners that
+ * keep read models in sync handle it after commit.
+ */
+public class StudentSavedEvent {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final Integer age;
+
+    public StudentSavedEvent(Student student) {
+        this.id = student.getId();
+        this.name = student.getName();
+        this.email = student.getEmail();
+        this.age = student.getAge();
+    }
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+
+    public String getEmail() { return email; }
+
+    public Integer getAge() { return age; }
+}
@@ -0,0 +1,8 @@
+package academy.academy_backend.exception;
+
+public class InvalidSearchRequestException extends RuntimeException {
+    public InvalidSearchRequestException(String message){
+        super(message);
+    }
+
+}
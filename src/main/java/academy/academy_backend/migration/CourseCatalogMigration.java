@@ -0,0 +1,96 @@
+package academy.academy_backend.migration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Moves the old per-student course rows into the course catalog + enrollments.
+ *
+ * Before: courses(id, title, credits, student_id)  one row per enrollment
+ * After:  courses(id, title, credits)              one row per (title, credits)
+ *         enrollments(student_id, course_id, ...)
+ *
+ * Runs once at startup after Hibernate has updated the schema (so enrollments
+ * exists), and only while courses.student_id is still there. Everything runs in
+ * one transaction, so a failed run leaves the old layout in place.
+ */
+@Component
+@Lazy(false)
+public class CourseCatalogMigration implements InitializingBean {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // The EntityManagerFactory is only injected so ddl-auto has run before us
+    public CourseCatalogMigration(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    /**
+     * @return true if the old layout was found and migrated
+     */
+    public boolean migrate() {
+        if (!hasLegacyStudentColumn()) {
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // The lowest id of each (title, credits) group becomes the catalog course
+            jdbcTemplate.update("""
+                    INSERT INTO enrollments (student_id, course_id, created_at, created_by)
+                    SELECT DISTINCT m.student_id, m.catalog_id, CURRENT_TIMESTAMP, 'MIGRATION'
+                    FROM (
+                        SELECT c.student_id,
+                               (SELECT MIN(k.id) FROM courses k
+                                WHERE k.title = c.title AND k.credits = c.credits) AS catalog_id
+                        FROM courses c
+                        WHERE c.student_id IS NOT NULL
+                    ) m
+                    WHERE NOT EXISTS (
+                        SELECT 1 FROM enrollments e
+                        WHERE e.student_id = m.student_id AND e.course_id = m.catalog_id
+                    )
+                    """);
+
+            jdbcTemplate.update("""
+                    DELETE FROM courses
+                    WHERE id NOT IN (SELECT MIN(k.id) FROM courses k GROUP BY k.title, k.credits)
+                    """);
+
+            jdbcTemplate.execute("ALTER TABLE courses DROP COLUMN student_id");
+        });
+        return true;
+    }
+
+    private boolean hasLegacyStudentColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(
+                    connection.getCatalog(),
+                    connection.getSchema(),
+                    upperCase ? "COURSES" : "courses",
+                    upperCase ? "STUDENT_ID" : "student_id")) {
+                return columns.next();
+            }
+        }));
+    }
+}
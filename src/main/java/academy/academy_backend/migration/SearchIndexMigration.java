@@ -0,0 +1,98 @@
+package academy.academy_backend.migration;
+
+import academy.academy_backend.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search indexes that @Index can't express, created on every shard.
+ *
+ * The prefix filter compiles to {@code col LIKE 'abc%'}. A plain btree only
+ * serves that under the C collation, so on PostgreSQL the prefix-filterable
+ * columns get a varchar_pattern_ops index as well.
+ *
+ * The indexes are built with CREATE INDEX CONCURRENTLY, which doesn't block
+ * writes but can't run inside a transaction, on a background thread once the
+ * application is ready. Until a build finishes, prefix filters on that column
+ * still work, just without the index. A build that was interrupted leaves an
+ * invalid index behind; it is dropped and built again on the next start.
+ */
+@Component
+@Lazy(false)
+public class SearchIndexMigration {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexMigration.class);
+
+    private static final Map<String, String> POSTGRES_PATTERN_INDEXES = Map.of(
+            "idx_students_name_pattern", "students (name varchar_pattern_ops)",
+            "idx_students_email_pattern", "students (email varchar_pattern_ops)",
+            "idx_courses_title_pattern", "courses (title varchar_pattern_ops)"
+    );
+
+    private final ShardRouter shardRouter;
+
+    public SearchIndexMigration(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofVirtual().name("search-index-migration").start(this::migrate);
+    }
+
+    public void migrate() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRouter.dataSource(shard));
+
+            String product = jdbcTemplate.execute(
+                    (Connection connection) -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(product)) {
+                continue;
+            }
+            for (Map.Entry<String, String> index : POSTGRES_PATTERN_INDEXES.entrySet()) {
+                try {
+                    createConcurrently(jdbcTemplate, index.getKey(), index.getValue());
+                } catch (RuntimeException ex) {
+                    log.warn("Could not build index {} on shard {}; retried on the next start",
+                            index.getKey(), shard, ex);
+                }
+            }
+        }
+    }
+
+    private static void createConcurrently(JdbcTemplate jdbcTemplate, String name, String definition) {
+        List<Boolean> valid = jdbcTemplate.queryForList("""
+                SELECT i.indisvalid FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname = ? AND pg_table_is_visible(c.oid)
+                """, Boolean.class, name);
+        if (valid.equals(List.of(true))) {
+            return;
+        }
+
+        jdbcTemplate.execute((Connection connection) -> {
+            // CONCURRENTLY fails inside a transaction block
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                if (!valid.isEmpty()) {
+                    statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+                }
+                log.info("Building index {} on {}", name, definition);
+                statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + definition);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+}
@@ -2,10 +2,28 @@ package academy.academy_backend.repository;
 
 import academy.academy_backend.domain.course.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository
+        extends JpaRepository<Course, Long>,
+        JpaSpecificationExecutor<Course> {
 
-    List<Course> findByStudentId(Long studentId);
+    @Query("""
+            SELECT c FROM Course c
+            ORDER BY c.id
+            """)
+    List<Course> findAllCourses();
+
+    // Courses of a student: walks the enrollments (student_id, course_id) index
+    @Query("""
+            SELECT c FROM Enrollment e
+            JOIN e.course c
+            WHERE e.student.id = :studentId
+            ORDER BY c.id
+            """)
+    List<Course> findByStudentId(@Param("studentId") Long studentId);
 }
@@ -0,0 +1,36 @@
+package academy.academy_backend.repository;
+
+import academy.academy_backend.domain.enrollment.Enrollment;
+import academy.academy_backend.domain.enrollment.EnrollmentId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, EnrollmentId> {
+
+    @Query("""
+            SELECT e.course.id FROM Enrollment e
+            WHERE e.student.id = :studentId
+            AND e.course.id IN :courseIds
+            """)
+    Set<Long> findEnrolledCourseIds(
+            @Param("studentId") Long studentId,
+            @Param("courseIds") Collection<Long> courseIds
+    );
+
+    // Single DELETE statement, bypasses the persistence context
+    @Modifying
+    @Query("""
+            DELETE FROM Enrollment e
+            WHERE e.student.id = :studentId
+            AND e.course.id IN :courseIds
+            """)
+    int deleteByStudentIdAndCourseIds(
+            @Param("studentId") Long studentId,
+            @Param("courseIds") Collection<Long> courseIds
+    );
+}
@@ -1,16 +1,20 @@
 package academy.academy_backend.repository;
 
 import academy.academy_backend.domain.student.Student;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository
@@ -42,4 +46,30 @@ public interface StudentRepository
             ORDER BY s.id
             """)
     Page<Student> findAllStudentsPage(Pageable pageable);
+
+    // Full scan for in-memory read models; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("""
+            SELECT s FROM Student s
+            ORDER BY s.id
+            """)
+    Stream<Student> streamAllStudents();
+
+    // Catch-up scan for in-memory read models; served by the updated_at index
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("""
+            SELECT s FROM Student s
+            WHERE s.updatedAt >= :since
+            ORDER BY s.updatedAt
+            """)
+    Stream<Student> streamStudentsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // Students of a course: walks the enrollments primary key (course_id, student_id)
+    @Query("""
+            SELECT s FROM Enrollment e
+            JOIN e.student s
+            WHERE e.course.id = :courseId
+            ORDER BY s.id
+            """)
+    List<Student> findByCourseId(@Param("courseId") Long courseId);
 }
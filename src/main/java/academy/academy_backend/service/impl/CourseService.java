@@ -1,45 +1,117 @@
 package academy.academy_backend.service.impl;
 
+import academy.academy_backend.api.v1.dto.request.CourseCreateRequest;
+import academy.academy_backend.api.v1.dto.request.CourseSearchRequest;
 import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
 import academy.academy_backend.api.v1.mapper.CourseMapper;
+import academy.academy_backend.api.v1.mapper.StudentMapper;
+import academy.academy_backend.api.v1.specification.CourseSearchFields;
+import academy.academy_backend.api.v1.specification.CourseSpecification;
+import academy.academy_backend.api.v1.specification.SortBuilder;
 import academy.academy_backend.domain.course.Course;
 import academy.academy_backend.domain.student.Student;
+import academy.academy_backend.exception.ResourceNotFoundException;
 import academy.academy_backend.repository.CourseRepository;
 import academy.academy_backend.repository.StudentRepository;
+import academy.academy_backend.sharding.CatalogReplicator;
+import academy.academy_backend.sharding.ShardRouter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class CourseService {
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final ShardRouter shardRouter;
+    private final CatalogReplicator catalogReplicator;
 
     public CourseService(
             CourseRepository courseRepository,
-            StudentRepository studentRepository
+            StudentRepository studentRepository,
+            ShardRouter shardRouter,
+            CatalogReplicator catalogReplicator
     ) {
         this.courseRepository = courseRepository;
         this.studentRepository = studentRepository;
+        this.shardRouter = shardRouter;
+        this.catalogReplicator = catalogReplicator;
     }
 
     @Transactional
-    public CourseResponseDTO createCourse(Long studentId, Course course) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
+    public CourseResponseDTO createCourse(CourseCreateRequest courseCreateRequest) {
+        Course course = CourseMapper.toEntity(courseCreateRequest);
+        Course saved = shardRouter.onCatalogShard(() -> courseRepository.save(course));
 
-        course.setStudent(student);
-        Course saved = courseRepository.save(course);
+        // Enrollments reference courses inside their own shard, so every shard
+        // keeps a copy of the catalog under the same id, written after commit.
+        catalogReplicator.replicate(saved);
 
         return CourseMapper.toDTO(saved);
     }
 
+    @Transactional(readOnly = true)
+    public CourseResponseDTO getById(Long id) {
+        Course course = shardRouter.onCatalogShard(() -> courseRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+        return CourseMapper.toDTO(course);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseResponseDTO> getAll() {
+        return shardRouter.onCatalogShard(courseRepository::findAllCourses)
+                .stream()
+                .map(CourseMapper::toDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CourseResponseDTO> search(CourseSearchRequest courseSearchRequest) {
+        Sort sort = SortBuilder.withIdTieBreaker(
+                SortBuilder.build(courseSearchRequest.getSorting(), CourseSearchFields.SORTABLE_FIELDS)
+        );
+
+        Pageable pageable = PageRequest.of(
+                courseSearchRequest.getPage(),
+                courseSearchRequest.getSize(),
+                sort
+        );
+        Specification<Course> spec =
+                CourseSpecification.withSearchAndFilters(
+                        courseSearchRequest.getSearch(),
+                        courseSearchRequest.getCriteria()
+                );
+        Page<Course> page = shardRouter.onCatalogShard(() -> courseRepository.findAll(spec, pageable));
+        return page.map(CourseMapper::toDTO);
+    }
+
     @Transactional(readOnly = true)
     public List<CourseResponseDTO> getCourseByStudent(Long studentId) {
-        return courseRepository.findByStudentId(studentId)
+        return shardRouter.onStudentShard(studentId, () -> courseRepository.findByStudentId(studentId))
                 .stream()
                 .map(CourseMapper::toDTO)
                 .toList();
     }
+
+    @Transactional(readOnly = true)
+    public List<StudentResponseDTO> getStudentsByCourse(Long courseId) {
+        if (!shardRouter.onCatalogShard(() -> courseRepository.existsById(courseId))) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        // Enrollments live with their students, so every shard holds part of the answer
+        return shardRouter.onAllShards(() -> studentRepository.findByCourseId(courseId))
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Student::getId))
+                .map(StudentMapper::toDTO)
+                .toList();
+    }
 }
@@ -0,0 +1,104 @@
+package academy.academy_backend.service.impl;
+
+import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
+import academy.academy_backend.api.v1.mapper.CourseMapper;
+import academy.academy_backend.domain.course.Course;
+import academy.academy_backend.domain.enrollment.Enrollment;
+import academy.academy_backend.domain.student.Student;
+import academy.academy_backend.exception.ResourceNotFoundException;
+import academy.academy_backend.repository.CourseRepository;
+import academy.academy_backend.repository.EnrollmentRepository;
+import academy.academy_backend.repository.StudentRepository;
+import academy.academy_backend.sharding.CatalogReplicator;
+import academy.academy_backend.sharding.ShardRouter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class EnrollmentService {
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ShardRouter shardRouter;
+    private final CatalogReplicator catalogReplicator;
+
+    public EnrollmentService(
+            StudentRepository studentRepository,
+            CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            ShardRouter shardRouter,
+            CatalogReplicator catalogReplicator
+    ) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.shardRouter = shardRouter;
+        this.catalogReplicator = catalogReplicator;
+    }
+
+    // Enrollments and the catalog copy they reference live on the student's shard
+    @Transactional
+    public List<CourseResponseDTO> enroll(Long studentId, List<Long> courseIds) {
+        return shardRouter.onStudentShard(studentId, () -> enrollOnShard(studentId, courseIds));
+    }
+
+    @Transactional
+    public void unenroll(Long studentId, List<Long> courseIds) {
+        shardRouter.onShard(shardRouter.shardForStudent(studentId), () -> {
+            if (!studentRepository.existsById(studentId)) {
+                throw new ResourceNotFoundException("Student not found with id: " + studentId);
+            }
+            enrollmentRepository.deleteByStudentIdAndCourseIds(studentId, Set.copyOf(courseIds));
+        });
+    }
+
+    private List<CourseResponseDTO> enrollOnShard(Long studentId, List<Long> courseIds) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+
+        Set<Long> requested = new LinkedHashSet<>(courseIds);
+        List<Course> courses = findCatalogCourses(studentId, requested);
+
+        // Already enrolled courses are skipped, so enrolling twice is a no-op
+        Set<Long> enrolled = enrollmentRepository.findEnrolledCourseIds(studentId, requested);
+        List<Enrollment> enrollments = courses.stream()
+                .filter(course -> !enrolled.contains(course.getId()))
+                .map(course -> new Enrollment(student, course))
+                .toList();
+        enrollmentRepository.saveAll(enrollments);
+
+        return courseRepository.findByStudentId(studentId)
+                .stream()
+                .map(CourseMapper::toDTO)
+                .toList();
+    }
+
+    // The shard's catalog copy can lag behind the catalog shard when a copy
+    // failed after commit, so missing ids are repaired once before giving up.
+    private List<Course> findCatalogCourses(Long studentId, Set<Long> courseIds) {
+        List<Course> courses = courseRepository.findAllById(courseIds);
+        if (courses.size() == courseIds.size()) {
+            return courses;
+        }
+
+        Set<Long> missing = missing(courseIds, courses);
+        if (catalogReplicator.copyMissing(shardRouter.shardForStudent(studentId), missing) > 0) {
+            courses = courseRepository.findAllById(courseIds);
+            missing = missing(courseIds, courses);
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Course not found with id: " + missing);
+        }
+        return courses;
+    }
+
+    private static Set<Long> missing(Set<Long> courseIds, List<Course> courses) {
+        Set<Long> missing = new LinkedHashSet<>(courseIds);
+        courses.forEach(course -> missing.remove(course.getId()));
+        return missing;
+    }
+}
@@ -6,10 +6,18 @@ import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
 import academy.academy_backend.api.v1.mapper.StudentMapper;
 import academy.academy_backend.api.v1.specification.SortBuilder;
 import academy.academy_backend.api.v1.specification.StudentSpecification;
+import academy.academy_backend.directory.StudentDirectory;
 import academy.academy_backend.domain.student.Student;
+import academy.academy_backend.domain.student.StudentSavedEvent;
 import academy.academy_backend.exception.ResourceNotFoundException;
 import academy.academy_backend.repository.StudentRepository;
+import academy.academy_backend.sharding.ShardCollation;
+import academy.academy_backend.sharding.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -17,35 +25,67 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class StudentService {
     private final StudentRepository studentRepository;
+    private final ShardRouter shardRouter;
+    private final ShardCollation shardCollation;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentDirectory studentDirectory;
 
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(
+            StudentRepository studentRepository,
+            ShardRouter shardRouter,
+            ShardCollation shardCollation,
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<StudentDirectory> studentDirectory,
+            @Value("${academy.directory.enabled:false}") boolean directoryEnabled
+    ) {
         this.studentRepository = studentRepository;
+        this.shardRouter = shardRouter;
+        this.shardCollation = shardCollation;
+        this.eventPublisher = eventPublisher;
+        this.studentDirectory = studentDirectory.getIfAvailable();
+        // An AOT-processed jar keeps the bean set it was built with (see the
+        // fast-startup profile in pom.xml), whatever the property says at runtime.
+        if ((this.studentDirectory != null) != directoryEnabled) {
+            throw new IllegalStateException("academy.directory.enabled=" + directoryEnabled
+                    + " but this build was AOT-processed with the opposite value; rebuild with"
+                    + " -Dacademy.directory.enabled=" + directoryEnabled);
+        }
     }
 
     @Transactional
     public StudentResponseDTO create(StudentCreateRequest studentCreateRequest) {
         Student student = StudentMapper.toEntity(studentCreateRequest);
-        Student saved = studentRepository.save(student);
+        Student saved = shardRouter.onShard(
+                shardRouter.shardForNewStudent(student.getEmail()),
+                () -> studentRepository.save(student)
+        );
+        eventPublisher.publishEvent(new StudentSavedEvent(saved));
 
         return StudentMapper.toDTO(saved);
     }
 
     @Transactional(readOnly = true)
     public StudentResponseDTO getById(Long id) {
-        Student student = studentRepository.findById(id)
+        Student student = shardRouter.onStudentShard(id, () -> studentRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
         return StudentMapper.toDTO(student);
     }
 
     @Transactional(readOnly = true)
     public List<StudentResponseDTO> getAll() {
-        return studentRepository.findAllStudents()
+        return shardRouter.onAllShards(studentRepository::findAllStudents)
                 .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Student::getId))
                 .map(StudentMapper::toDTO)
                 .toList();
     }
@@ -53,12 +93,24 @@ public class StudentService {
     @Transactional(readOnly = true)
     public Page<Student> getAllPaged(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return studentRepository.findAllStudentsPage(pageable);
+        return findAcrossShards(studentRepository::findAllStudentsPage, pageable);
     }
 
-    @Transactional(readOnly = true)
+    // Not @Transactional: a directory hit must not check out a connection.
+    // The repository calls in searchDatabase run in their own transactions.
     public Page<StudentResponseDTO> search(StudentSearchRequest studentSearchRequest) {
-        Sort sort = SortBuilder.build(studentSearchRequest.getSorting());
+        if (studentDirectory != null) {
+            Optional<Page<StudentResponseDTO>> fromMemory = studentDirectory.search(studentSearchRequest);
+            if (fromMemory.isPresent()) {
+                return fromMemory.get();
+            }
+        }
+        return searchDatabase(studentSearchRequest);
+    }
+
+    // id breaks ties so pages are stable and agree with the directory's order
+    public Page<StudentResponseDTO> searchDatabase(StudentSearchRequest studentSearchRequest) {
+        Sort sort = SortBuilder.withIdTieBreaker(SortBuilder.build(studentSearchRequest.getSorting()));
 
         Pageable pageable = PageRequest.of(
                 studentSearchRequest.getPage(),
@@ -68,9 +120,62 @@ public class StudentService {
         Specification<Student> spec =
                 StudentSpecification.withSearchAndFilters(
                         studentSearchRequest.getSearch(),
-                        studentSearchRequest.getFilters()
+                        studentSearchRequest.getFilters(),
+                        studentSearchRequest.getCriteria()
                 );
-        Page<Student> page = studentRepository.findAll(spec, pageable);
+        Page<Student> page = findAcrossShards(p -> studentRepository.findAll(spec, p), pageable);
         return page.map(StudentMapper::toDTO);
     }
+
+    // Each shard returns its own first (page + 1) * size rows in the requested
+    // order; the global page is cut from their merge. Deep pages cost more per shard.
+    // A name/email sort merges by code point if the shards use the C collation.
+    // Otherwise, when more than one shard has rows, the rows are ranked by the
+    // catalog shard: one extra query per 30,000 / (2 * shards * text fields)
+    // rows of each shard, see ShardCollation. Any depth works, just slower.
+    private Page<Student> findAcrossShards(
+            Function<Pageable, Page<Student>> query,
+            Pageable pageable
+    ) {
+        if (shardRouter.shardCount() == 1) {
+            return shardRouter.onShard(0, () -> query.apply(pageable));
+        }
+
+        Sort sort = SortBuilder.withIdTieBreaker(pageable.getSort());
+        Pageable perShard = PageRequest.of(
+                0, (int) pageable.getOffset() + pageable.getPageSize(), sort);
+
+        List<Page<Student>> pages = shardRouter.onAllShards(() -> query.apply(perShard));
+
+        int limit = perShard.getPageSize();
+        List<Student> merged = SortBuilder.sortsByText(sort)
+                ? shardCollation.merge(
+                        pages.stream().map(Page::getContent).toList(),
+                        limit,
+                        stringOrder -> SortBuilder.comparator(sort, stringOrder),
+                        student -> textValues(sort, student))
+                : pages.stream()
+                        .flatMap(p -> p.getContent().stream())
+                        .sorted(SortBuilder.comparator(sort, Comparator.naturalOrder()))
+                        .limit(limit)
+                        .toList();
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, total);
+    }
+
+    // The text values SortBuilder.comparator compares for this sort
+    private static List<String> textValues(Sort sort, Student student) {
+        List<String> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            switch (order.getProperty()) {
+                case "name" -> values.add(student.getName());
+                case "email" -> values.add(student.getEmail());
+                default -> { }
+            }
+        }
+        return values;
+    }
 }
@@ -0,0 +1,136 @@
+package academy.academy_backend.sharding;
+
+import academy.academy_backend.domain.course.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the course catalog of every shard in line with the catalog shard.
+ *
+ * Copies are written with plain autocommit inserts that skip ids already
+ * present, so running any of these twice is harmless. A copy that fails after
+ * the catalog commit is repaired by {@link #copyMissing} the first time an
+ * enrollment needs it, and by {@link #syncAll} on the next start.
+ */
+@Component
+public class CatalogReplicator {
+    private static final Logger log = LoggerFactory.getLogger(CatalogReplicator.class);
+
+    private static final String INSERT_IF_MISSING = """
+            INSERT INTO courses (id, title, credits)
+            SELECT CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS INTEGER)
+            WHERE NOT EXISTS (SELECT 1 FROM courses WHERE id = ?)
+            """;
+
+    private final ShardRouter shardRouter;
+
+    public CatalogReplicator(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Copies a course just saved on the catalog shard to the other shards,
+     * once the surrounding transaction (if any) has committed.
+     */
+    public void replicate(Course course) {
+        if (shardRouter.shardCount() == 1) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            copyToReplicas(course);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                copyToReplicas(course);
+            }
+        });
+    }
+
+    /**
+     * Copies the given catalog courses to {@code shard} if they are missing there.
+     *
+     * @return how many courses were found on the catalog shard and copied
+     */
+    public int copyMissing(int shard, Collection<Long> courseIds) {
+        if (shard == ShardRouter.CATALOG_SHARD || courseIds.isEmpty()) {
+            return 0;
+        }
+        List<Map<String, Object>> rows = new NamedParameterJdbcTemplate(catalog()).queryForList(
+                "SELECT id, title, credits FROM courses WHERE id IN (:ids)",
+                Map.of("ids", courseIds));
+
+        JdbcTemplate target = new JdbcTemplate(shardRouter.dataSource(shard));
+        for (Map<String, Object> row : rows) {
+            insertIfMissing(target,
+                    ((Number) row.get("id")).longValue(),
+                    (String) row.get("title"),
+                    ((Number) row.get("credits")).intValue());
+        }
+        return rows.size();
+    }
+
+    /**
+     * Copies every catalog course that a shard is missing, e.g. on a shard
+     * added to an existing cluster or after a failed copy.
+     */
+    public void syncAll() {
+        JdbcTemplate catalog = new JdbcTemplate(catalog());
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            if (shard == ShardRouter.CATALOG_SHARD) {
+                continue;
+            }
+            JdbcTemplate target = new JdbcTemplate(shardRouter.dataSource(shard));
+            Set<Long> present = new HashSet<>(target.queryForList("SELECT id FROM courses", Long.class));
+
+            catalog.query("SELECT id, title, credits FROM courses ORDER BY id", rs -> {
+                long id = rs.getLong("id");
+                if (!present.contains(id)) {
+                    insertIfMissing(target, id, rs.getString("title"), rs.getInt("credits"));
+                }
+            });
+        }
+    }
+
+    private void copyToReplicas(Course course) {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            if (shard == ShardRouter.CATALOG_SHARD) {
+                continue;
+            }
+            try {
+                insertIfMissing(new JdbcTemplate(shardRouter.dataSource(shard)),
+                        course.getId(), course.getTitle(), course.getCredits());
+            } catch (DataAccessException ex) {
+                // The course is committed on the catalog shard; the repair paths pick it up
+                log.warn("Could not copy course {} to shard {}", course.getId(), shard, ex);
+            }
+        }
+    }
+
+    private void insertIfMissing(JdbcTemplate target, long id, String title, int credits) {
+        try {
+            target.update(INSERT_IF_MISSING, id, title, credits, id);
+        } catch (DuplicateKeyException ex) {
+            // inserted concurrently by another instance
+        }
+    }
+
+    private DataSource catalog() {
+        return shardRouter.dataSource(ShardRouter.CATALOG_SHARD);
+    }
+}
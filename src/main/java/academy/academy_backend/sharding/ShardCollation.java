@@ -0,0 +1,216 @@
+package academy.academy_backend.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Orders student names and emails the way ORDER BY on the shards does.
+ *
+ * Shards sort text by their database collation. Unless that is the C
+ * collation (code point order), Java can't reproduce it (case, accents,
+ * punctuation), so a merge of per-shard pages compared in Java could skip or
+ * repeat rows at page boundaries. Then each shard's ORDER BY is the source of
+ * truth for its own rows, and only the rows being merged are ranked against
+ * each other by the catalog shard. All shards are expected to run with the
+ * same collation.
+ */
+@Component
+public class ShardCollation {
+    // Strings that any linguistic collation orders differently from code points
+    private static final List<String> COLLATION_PROBE = List.of("é", "ab", "a b", "B", "_x", "a", "aa", "a-c", "Z");
+
+    // values ranked per query, below the bind parameter limit of the PostgreSQL driver
+    private static final int MAX_VALUES = 30_000;
+
+    private final ShardRouter shardRouter;
+    private final int maxValues;
+
+    private volatile Boolean codePointOrder;
+
+    public ShardCollation(ShardRouter shardRouter) {
+        this(shardRouter, MAX_VALUES, null);
+    }
+
+    // codePointOrder null: probe the shards on first use
+    ShardCollation(ShardRouter shardRouter, int maxValues, Boolean codePointOrder) {
+        this.shardRouter = shardRouter;
+        this.maxValues = maxValues;
+        this.codePointOrder = codePointOrder;
+    }
+
+    /**
+     * Merges per-shard rows into the first {@code limit} rows of the global order.
+     *
+     * @param runs       each shard's rows, in that shard's ORDER BY
+     * @param order      the row order, given an order for the text values
+     * @param textValues the text values of a row that {@code order} compares
+     */
+    public <T> List<T> merge(
+            List<List<T>> runs,
+            int limit,
+            Function<Comparator<String>, Comparator<T>> order,
+            Function<T, List<String>> textValues
+    ) {
+        List<List<T>> nonEmpty = runs.stream().filter(run -> !run.isEmpty()).toList();
+        if (nonEmpty.size() == 1) {
+            List<T> run = nonEmpty.get(0);
+            return run.subList(0, Math.min(limit, run.size()));
+        }
+        if (sortsByCodePoint()) {
+            return nonEmpty.stream()
+                    .flatMap(List::stream)
+                    .sorted(order.apply(ShardCollation::compareCodePoints))
+                    .limit(limit)
+                    .toList();
+        }
+        return mergeInBatches(nonEmpty, limit, order, textValues);
+    }
+
+    // K-way merge that ranks a bounded batch per round. A row can be emitted
+    // once it sorts no later than the last batched row of every shard that
+    // has rows left, since each shard's remaining rows come after that one.
+    private <T> List<T> mergeInBatches(
+            List<List<T>> runs,
+            int limit,
+            Function<Comparator<String>, Comparator<T>> order,
+            Function<T, List<String>> textValues
+    ) {
+        int valuesPerRow = Math.max(1, textValues.apply(runs.get(0).get(0)).size());
+        // rows carried over from the previous round are at most one more batch
+        int batch = Math.max(1, maxValues / (2 * runs.size() * valuesPerRow));
+
+        int[] next = new int[runs.size()];
+        List<T> pending = new ArrayList<>();
+        List<T> merged = new ArrayList<>();
+
+        while (merged.size() < limit) {
+            List<T> lastBatched = new ArrayList<>();
+            for (int shard = 0; shard < runs.size(); shard++) {
+                List<T> run = runs.get(shard);
+                int end = Math.min(next[shard] + batch, run.size());
+                pending.addAll(run.subList(next[shard], end));
+                next[shard] = end;
+                if (end < run.size()) {
+                    lastBatched.add(run.get(end - 1));
+                }
+            }
+            if (pending.isEmpty()) {
+                break;
+            }
+
+            Set<String> values = new LinkedHashSet<>();
+            pending.forEach(row -> values.addAll(textValues.apply(row)));
+            Comparator<T> comparator = order.apply(rank(values));
+            pending.sort(comparator);
+
+            int safe = pending.size();
+            if (!lastBatched.isEmpty()) {
+                T bound = Collections.min(lastBatched, comparator);
+                safe = 0;
+                while (safe < pending.size() && comparator.compare(pending.get(safe), bound) <= 0) {
+                    safe++;
+                }
+            }
+            merged.addAll(pending.subList(0, Math.min(safe, limit - merged.size())));
+            pending = new ArrayList<>(pending.subList(safe, pending.size()));
+        }
+        return merged;
+    }
+
+    private Comparator<String> rank(Set<String> values) {
+        String rows = String.join(", ", Collections.nCopies(values.size(), "(CAST(? AS VARCHAR(255)))"));
+
+        List<String> ordered = new JdbcTemplate(shardRouter.dataSource(ShardRouter.CATALOG_SHARD)).queryForList(
+                "SELECT v.s FROM (VALUES " + rows + ") AS v(s) ORDER BY v.s",
+                String.class, values.toArray());
+
+        Map<String, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            rank.put(ordered.get(i), i);
+        }
+        return Comparator.comparing(rank::get);
+    }
+
+    // True if every shard orders name and email by code point, i.e. uses the
+    // C collation for those columns. Probed once.
+    public boolean sortsByCodePoint() {
+        Boolean result = codePointOrder;
+        if (result == null) {
+            result = probe();
+            codePointOrder = result;
+        }
+        return result;
+    }
+
+    private boolean probe() {
+        List<String> expected = COLLATION_PROBE.stream()
+                .sorted(ShardCollation::compareCodePoints)
+                .toList();
+
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRouter.dataSource(shard));
+            String collate = columnCollation(jdbcTemplate);
+            if (collate == null) {
+                return false;
+            }
+            List<String> sorted = jdbcTemplate.queryForList(
+                    "SELECT v.s FROM (VALUES "
+                            + String.join(", ", Collections.nCopies(COLLATION_PROBE.size(), "(CAST(? AS VARCHAR(255)))"))
+                            + ") AS v(s) ORDER BY v.s" + collate,
+                    String.class, COLLATION_PROBE.toArray());
+            if (!sorted.equals(expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // "" for the database default, a COLLATE clause for a column collation on
+    // PostgreSQL, null if name and email don't share one
+    private static String columnCollation(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return "";
+        }
+        List<String> collations = jdbcTemplate.queryForList("""
+                SELECT DISTINCT COALESCE(collation_name, '') FROM information_schema.columns
+                WHERE table_schema = current_schema
+                AND table_name = 'students'
+                AND column_name IN ('name', 'email')
+                """, String.class);
+        if (collations.size() != 1) {
+            return null;
+        }
+        String collation = collations.get(0);
+        return collation.isEmpty() ? "" : " COLLATE \"" + collation.replace("\"", "\"\"") + "\"";
+    }
+
+    // The C collation's order (UTF-8 bytes). Unlike String.compareTo it also
+    // puts characters outside the BMP after U+E000..U+FFFF.
+    public static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int codePointA = a.codePointAt(i);
+            int codePointB = b.codePointAt(j);
+            if (codePointA != codePointB) {
+                return Integer.compare(codePointA, codePointB);
+            }
+            i += Character.charCount(codePointA);
+            j += Character.charCount(codePointB);
+        }
+        return Boolean.compare(i < a.length(), j < b.length());
+    }
+}
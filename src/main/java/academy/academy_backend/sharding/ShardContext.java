@@ -0,0 +1,21 @@
+package academy.academy_backend.sharding;
+
+/**
+ * Shard the current thread talks to. Read by {@link ShardRoutingDataSource}
+ * when a connection is actually opened; use {@link ShardRouter} to set it.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    public static Integer get() { return CURRENT.get(); }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package academy.academy_backend.sharding;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Routing layer between the services and the repositories.
+ *
+ * Students are placed by a hash of their email, and every student id is
+ * allocated so that {@code id % shardCount} is the shard holding the row
+ * (see {@link ShardSchemaInitializer}). Enrollments live next to their
+ * student; the course catalog is replicated to every shard.
+ *
+ * Without academy.sharding.enabled there is a single shard and every call
+ * runs inline on the normal DataSource.
+ */
+@Component
+public class ShardRouter {
+    public static final int CATALOG_SHARD = 0;
+
+    private final List<DataSource> shards;
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardRouter(
+            ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+            DataSource dataSource,
+            @Value("${academy.sharding.enabled:false}") boolean shardingEnabled
+    ) {
+        ShardRoutingDataSource routing = shardRoutingDataSource.getIfAvailable();
+        // An AOT-processed jar keeps the bean set it was built with (see the
+        // fast-startup profile in pom.xml), whatever the property says at runtime.
+        if ((routing != null) != shardingEnabled) {
+            throw new IllegalStateException("academy.sharding.enabled=" + shardingEnabled
+                    + " but this build was AOT-processed with the opposite value; rebuild with"
+                    + " -Dacademy.sharding.enabled=" + shardingEnabled);
+        }
+        this.shards = routing != null ? routing.getShards() : List.of(dataSource);
+    }
+
+    public int shardCount() { return shards.size(); }
+
+    public DataSource dataSource(int shard) { return shards.get(shard); }
+
+    public int shardForStudent(Long studentId) {
+        return Math.floorMod(studentId, shards.size());
+    }
+
+    // Same email always lands on the same shard, so the unique constraint on
+    // students.email still holds across the cluster.
+    public int shardForNewStudent(String email) {
+        int h = email.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.size());
+    }
+
+    /**
+     * Runs {@code work} against one shard. A transaction sticks to the shard
+     * of its first statement, so don't mix shards inside one transaction.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public void onShard(int shard, Runnable work) {
+        onShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T onStudentShard(Long studentId, Supplier<T> work) {
+        return onShard(shardForStudent(studentId), work);
+    }
+
+    public <T> T onCatalogShard(Supplier<T> work) {
+        return onShard(CATALOG_SHARD, work);
+    }
+
+    /**
+     * Runs {@code work} on every shard in parallel and returns the results in
+     * shard order. Each shard runs on its own thread, outside the caller's
+     * transaction.
+     */
+    public <T> List<T> onAllShards(Supplier<T> work) {
+        if (shards.size() == 1) {
+            List<T> single = new ArrayList<>();
+            single.add(onShard(0, work));
+            return single;
+        }
+
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            futures.add(fanOutExecutor.submit(() -> onShard(shard, work)));
+        }
+
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while querying shards", ex);
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", ex.getCause());
+        }
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,131 @@
+package academy.academy_backend.sharding;
+
+import academy.academy_backend.migration.CourseCatalogMigration;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepares every shard before the first request:
+ * 1. creates the schema on shards that don't have it yet (ddl-auto only
+ *    reaches the default shard),
+ * 2. refuses to start if a shard holds students whose id belongs to another
+ *    shard, e.g. when sharding is switched on over an existing database,
+ * 3. makes shard N's students identity hand out ids with id % shardCount == N,
+ *    so {@link ShardRouter#shardForStudent(Long)} needs no lookup table,
+ * 4. copies catalog courses a shard is missing.
+ *
+ * Runs while the bean is created, so it is done before any
+ * SmartInitializingSingleton or ApplicationReadyEvent listener sees the shards.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "academy.sharding.enabled", havingValue = "true")
+public class ShardSchemaInitializer implements InitializingBean {
+    private final ShardRouter shardRouter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogReplicator catalogReplicator;
+
+    // CourseCatalogMigration is injected so the legacy catalog on the default
+    // shard is migrated before it gets copied around.
+    public ShardSchemaInitializer(
+            ShardRouter shardRouter,
+            EntityManagerFactory entityManagerFactory,
+            CatalogReplicator catalogReplicator,
+            CourseCatalogMigration courseCatalogMigration
+    ) {
+        this.shardRouter = shardRouter;
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogReplicator = catalogReplicator;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            DataSource dataSource = shardRouter.dataSource(shard);
+
+            if (!hasStudentsTable(dataSource)) {
+                shardRouter.onShard(shard, () -> entityManagerFactory.getSchemaManager().create(false));
+            }
+            checkPlacement(shard, new JdbcTemplate(dataSource));
+            alignStudentIds(shard, dataSource);
+        }
+        catalogReplicator.syncAll();
+    }
+
+    private void checkPlacement(int shard, JdbcTemplate jdbcTemplate) {
+        Long misplaced = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM students WHERE MOD(id, ?) <> ?",
+                Long.class, shardRouter.shardCount(), shard);
+
+        if (misplaced > 0) {
+            throw new IllegalStateException("Shard " + shard + " holds " + misplaced
+                    + " students whose id % " + shardRouter.shardCount() + " != " + shard
+                    + ". Move each student (and its enrollments) to shard id % "
+                    + shardRouter.shardCount() + " before starting with this shard layout.");
+        }
+    }
+
+    // Only runs while the identity still has another increment, i.e. on the
+    // first start with this shard count. On PostgreSQL the table lock keeps
+    // inserts and other starting instances out between MAX(id) and RESTART.
+    private void alignStudentIds(int shard, DataSource dataSource) {
+        int shardCount = shardRouter.shardCount();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        boolean postgres = isPostgres(jdbcTemplate);
+
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            if (postgres) {
+                jdbcTemplate.execute("LOCK TABLE students IN ACCESS EXCLUSIVE MODE");
+            }
+            Long increment = jdbcTemplate.queryForObject("""
+                    SELECT identity_increment FROM information_schema.columns
+                    WHERE LOWER(table_name) = 'students'
+                    AND LOWER(column_name) = 'id'
+                    AND table_schema = CURRENT_SCHEMA
+                    """, Long.class);
+            if (increment != null && increment == shardCount) {
+                return;
+            }
+
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM students", Long.class);
+
+            // smallest id above the current max that belongs to this shard
+            long next = maxId + 1 + Math.floorMod(shard - (maxId + 1), shardCount);
+
+            jdbcTemplate.execute(
+                    "ALTER TABLE students ALTER COLUMN id SET INCREMENT BY " + shardCount
+                            + " RESTART WITH " + next);
+        });
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        return "PostgreSQL".equals(jdbcTemplate.execute(
+                (Connection connection) -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    private boolean hasStudentsTable(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "STUDENTS" : "students";
+            try (ResultSet tables = metaData.getTables(
+                    connection.getCatalog(), connection.getSchema(), table, new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not inspect shard schema", ex);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package academy.academy_backend.sharding;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    // Closed with the context: ShardRoutingDataSource is AutoCloseable.
+    @Bean
+    @ConditionalOnProperty(name = "academy.sharding.enabled", havingValue = "true")
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties, Environment environment) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("academy.sharding.enabled=true but no academy.sharding.shards configured");
+        }
+        Binder binder = Binder.get(environment);
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            shards.add(pool(i, properties.getShards().get(i), binder));
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // spring.datasource.hikari.* applies to every shard,
+    // academy.sharding.shards[n].hikari.* overrides it for shard n.
+    private static HikariDataSource pool(int index, ShardingProperties.Shard shard, Binder binder) {
+        HikariConfig config = new HikariConfig();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        binder.bind("academy.sharding.shards[" + index + "].hikari", Bindable.ofInstance(config));
+        config.setJdbcUrl(shard.getUrl());
+        config.setUsername(shard.getUsername());
+        config.setPassword(shard.getPassword());
+        if (config.getPoolName() == null) {
+            config.setPoolName("shard-" + index);
+        }
+
+        // like the default DataSource, the pool starts on the first connection
+        HikariDataSource dataSource = new HikariDataSource();
+        config.copyStateTo(dataSource);
+        return dataSource;
+    }
+
+    // Opening the connection lazily means the shard is chosen at the first
+    // statement of a transaction, not when @Transactional begins.
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "academy.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
@@ -0,0 +1,43 @@
+package academy.academy_backend.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * academy.sharding.enabled=true
+ * academy.sharding.shards[0].url=jdbc:postgresql://shard0:5432/academy_db
+ * academy.sharding.shards[0].username=...
+ * academy.sharding.shards[0].password=...
+ * academy.sharding.shards[1].url=...
+ *
+ * Each shard gets its own Hikari pool, configured from spring.datasource.hikari.*
+ * and then academy.sharding.shards[n].hikari.* (e.g. maximum-pool-size).
+ */
+@ConfigurationProperties(prefix = "academy.sharding")
+public class ShardingProperties {
+    private boolean enabled;
+    private List<Shard> shards = new ArrayList<>();
+
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<Shard> getShards() { return shards; }
+    public void setShards(List<Shard> shards) { this.shards = shards; }
+}
@@ -0,0 +1,30 @@
+package academy.academy_backend;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Spring Boot test on the in-memory H2 database of the "h2" profile, with
+ * {@link TestData} available for injection.
+ *
+ * Test classes without extra properties share one context and one database,
+ * so they must not depend on being the only writer. Tests that change the
+ * schema or count every row pass their own spring.datasource.url.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestData.class)
+public @interface AcademyTest {
+
+    @AliasFor(annotation = SpringBootTest.class, attribute = "properties")
+    String[] properties() default {};
+}
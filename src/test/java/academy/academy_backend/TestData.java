@@ -0,0 +1,62 @@
+package academy.academy_backend;
+
+import academy.academy_backend.api.v1.dto.request.CourseCreateRequest;
+import academy.academy_backend.api.v1.dto.request.StudentCreateRequest;
+import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
+import academy.academy_backend.service.impl.CourseService;
+import academy.academy_backend.service.impl.StudentService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates students and courses through the services, the way the API does.
+ * Available to every {@link AcademyTest}.
+ */
+public class TestData {
+    private final StudentService studentService;
+    private final CourseService courseService;
+
+    public TestData(StudentService studentService, CourseService courseService) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+    }
+
+    public StudentResponseDTO student(String name, String email, int age) {
+        return studentService.create(studentRequest(name, email, age));
+    }
+
+    // name is the local part of the email
+    public StudentResponseDTO student(String email) {
+        return student(email.substring(0, email.indexOf('@')), email, 20);
+    }
+
+    // prefix-0 .. prefix-(count - 1), ages 18 to 21
+    public List<StudentResponseDTO> students(String prefix, int count) {
+        List<StudentResponseDTO> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            students.add(student(prefix + "-" + i, prefix + "-" + i + "@academy.test", 18 + i % 4));
+        }
+        return students;
+    }
+
+    public CourseResponseDTO course(String title, int credits) {
+        return courseService.createCourse(courseRequest(title, credits));
+    }
+
+    public static StudentCreateRequest studentRequest(String name, String email, int age) {
+        StudentCreateRequest request = new StudentCreateRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAge(age);
+        return request;
+    }
+
+    public static CourseCreateRequest courseRequest(String title, int credits) {
+        CourseCreateRequest request = new CourseCreateRequest();
+        request.setTitle(title);
+        request.setCredits(credits);
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package academy.academy_backend.api.v1.specification;
+
+import academy.academy_backend.AcademyTest;
+import academy.academy_backend.TestData;
+import academy.academy_backend.api.v1.dto.request.CourseSearchRequest;
+import academy.academy_backend.api.v1.dto.request.FilterCriterion;
+import academy.academy_backend.api.v1.dto.request.StudentSearchRequest;
+import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
+import academy.academy_backend.exception.InvalidSearchRequestException;
+import academy.academy_backend.service.impl.CourseService;
+import academy.academy_backend.service.impl.EnrollmentService;
+import academy.academy_backend.service.impl.StudentService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@AcademyTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentFilterTests {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TestData testData;
+
+    @BeforeAll
+    void createData() {
+        // The context is shared with other tests: these names, emails and
+        // credits don't occur in their data.
+        StudentResponseDTO alice = testData.student("Alice", "alice@academy.test", 19);
+        StudentResponseDTO bob = testData.student("Bob", "bob@academy.test", 23);
+        testData.student("Alina", "alina@academy.test", 30);
+
+        CourseResponseDTO logic = testData.course("Logic", 2);
+        CourseResponseDTO kernels = testData.course("Kernels", 8);
+
+        enrollmentService.enroll(alice.getId(), List.of(logic.getId()));
+        enrollmentService.enroll(bob.getId(), List.of(logic.getId(), kernels.getId()));
+    }
+
+    @Test
+    void rangeAndPrefixCombine() {
+        FilterCriterion age = new FilterCriterion();
+        age.setField("age");
+        age.setOp("range");
+        age.setFrom(18);
+        age.setTo(25);
+
+        assertThat(names(age, new FilterCriterion("name", "prefix", "Al")))
+                .containsExactly("Alice");
+    }
+
+    @Test
+    void inMatchesAnyValue() {
+        FilterCriterion email = new FilterCriterion();
+        email.setField("email");
+        email.setOp("in");
+        email.setValues(List.of("bob@academy.test", "alina@academy.test"));
+
+        assertThat(names(email)).containsExactly("Bob", "Alina");
+    }
+
+    @Test
+    void existsFindsStudentsWithACourseOverNCredits() {
+        FilterCriterion credits = new FilterCriterion();
+        credits.setField("credits");
+        credits.setOp("range");
+        credits.setFrom(7);
+
+        FilterCriterion courses = new FilterCriterion();
+        courses.setField("courses");
+        courses.setOp("exists");
+        courses.setCriteria(List.of(credits));
+
+        assertThat(names(courses)).containsExactly("Bob");
+    }
+
+    @Test
+    void operatorOutsideWhitelistIsRejected() {
+        assertThatThrownBy(() -> names(new FilterCriterion("age", "prefix", "1")))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    void legacyFiltersOnlyMatchEmail() {
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSize(10);
+        // keys outside the original whitelist are ignored, relations included
+        request.setFilters(Map.of("email", "bob@academy.test", "name", "Alice", "courses", List.of(1)));
+
+        assertThat(studentService.search(request).getContent())
+                .extracting(StudentResponseDTO::getName)
+                .containsExactly("Bob");
+    }
+
+    @Test
+    void courseSearchFiltersByCredits() {
+        CourseSearchRequest request = new CourseSearchRequest();
+        request.setSize(10);
+        request.setCriteria(List.of(new FilterCriterion("credits", "eq", 8)));
+
+        assertThat(courseService.search(request).getContent())
+                .extracting(CourseResponseDTO::getTitle)
+                .containsExactly("Kernels");
+    }
+
+    private List<String> names(FilterCriterion... criteria) {
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSize(10);
+        request.setCriteria(List.of(criteria));
+        return studentService.search(request)
+                .map(StudentResponseDTO::getName)
+                .getContent();
+    }
+}
@@ -0,0 +1,300 @@
+package academy.academy_backend.directory;
+
+import academy.academy_backend.AcademyTest;
+import academy.academy_backend.TestData;
+import academy.academy_backend.api.v1.dto.request.FilterCriterion;
+import academy.academy_backend.api.v1.dto.request.SortField;
+import academy.academy_backend.api.v1.dto.request.StudentSearchRequest;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
+import academy.academy_backend.api.v1.mapper.StudentMapper;
+import academy.academy_backend.domain.student.Student;
+import academy.academy_backend.repository.StudentRepository;
+import academy.academy_backend.sharding.ShardCollation;
+import academy.academy_backend.service.impl.StudentService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same random search requests through the JPA path of StudentService
+ * and the in-memory directory and expects identical pages.
+ */
+// compares against every student in the database, so it gets one of its own
+@AcademyTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:directory;DB_CLOSE_DELAY=-1",
+        "academy.directory.enabled=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentDirectoryDifferentialTests {
+    // ΣΩΚΡΑΤΗΣ and İlkay lower-case differently by context and by database
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Alina", "Bob", "Bobby", "Carla", "Dmitri", "Eve", "Zoë", "ΣΩΚΡΑΤΗΣ", "İlkay", "Işık"
+    };
+    private static final String[] LAST_NAMES = {"Smith", "Smithers", "Jones", "Nguyen", "O'Brien"};
+    private static final String[] DOMAINS = {"academy.test", "mail.test", "uni.test"};
+    private static final String[] SORTABLE = {"id", "name", "email", "age"};
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentDirectory studentDirectory;
+
+    @Autowired
+    private StudentDirectoryLoader studentDirectoryLoader;
+
+    @Autowired
+    private ShardCollation shardCollation;
+
+    @Autowired
+    private TestData testData;
+
+    private final List<StudentResponseDTO> students = new ArrayList<>();
+
+    @BeforeAll
+    void createStudents() {
+        Random random = new Random(42);
+        for (int i = 0; i < 250; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+            students.add(testData.student(
+                    first + " " + last,
+                    first.toLowerCase(Locale.ROOT) + "." + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)],
+                    18 + random.nextInt(12)));
+        }
+    }
+
+    @Test
+    void incrementallyMaintainedDirectoryMatchesJpa() {
+        assertThat(studentDirectory.isReady()).isTrue();
+        // H2 compares strings by code point, so name/email sorts are covered too
+        assertThat(shardCollation.sortsByCodePoint()).isTrue();
+        assertThat(studentDirectory.size()).isEqualTo(students.size());
+
+        assertMatchesJpa(studentDirectory, new Random(7));
+    }
+
+    @Test
+    void bootstrappedDirectoryMatchesJpa() {
+        StudentDirectory bootstrapped = new StudentDirectory();
+        studentDirectoryLoader.loadInto(bootstrapped);
+        bootstrapped.setCodePointCollation(true);
+        bootstrapped.markReady();
+
+        assertThat(bootstrapped.size()).isEqualTo(students.size());
+        assertMatchesJpa(bootstrapped, new Random(11));
+    }
+
+    @Test
+    void directoryMatchesJpaAfterChurnAndCompaction() {
+        StudentDirectory directory = new StudentDirectory();
+        directory.setCodePointCollation(true);
+
+        // 20 rounds of changes leave ~5,000 dead rows, enough to compact
+        for (int round = 0; round < 20; round++) {
+            for (StudentResponseDTO student : students) {
+                directory.upsert(student.getId(), student.getName() + " " + round,
+                        round + "." + student.getEmail(), student.getAge() + round);
+            }
+        }
+        for (StudentResponseDTO student : students) {
+            directory.upsert(student.getId(), student.getName(), student.getEmail(), student.getAge());
+        }
+        directory.markReady();
+
+        assertThat(directory.size()).isEqualTo(students.size());
+        assertMatchesJpa(directory, new Random(13));
+    }
+
+    @Test
+    void textSortsAreLeftToTheDatabaseUnlessCollationIsCodePoint() {
+        StudentDirectory directory = new StudentDirectory();
+        studentDirectoryLoader.loadInto(directory);
+        directory.markReady();
+
+        SortField byName = new SortField();
+        byName.setField("name");
+        byName.setDirection("asc");
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSize(10);
+        request.setSorting(List.of(byName));
+
+        assertThat(directory.search(request)).isEmpty();
+
+        request.setSorting(List.of());
+        assertThat(directory.search(request)).isPresent();
+    }
+
+    @Test
+    void caseMappingSensitiveTermsAreLeftToTheDatabase() {
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSize(10);
+
+        // sensitive in the term itself
+        request.setSearch("ΚΡΑΤΗΣ");
+        assertThat(studentDirectory.search(request)).isEmpty();
+        request.setSearch("İl");
+        assertThat(studentDirectory.search(request)).isEmpty();
+
+        // plain term, but stored values lower-case 'İ' to 'i' or "i̇" depending on the database
+        request.setSearch("li");
+        assertThat(studentDirectory.search(request)).isEmpty();
+
+        request.setSearch("kay");
+        assertThat(studentDirectory.search(request)).isPresent();
+    }
+
+    @Test
+    void catchUpPicksUpWritesFromOtherInstances() {
+        // saved straight through the repository: no StudentSavedEvent, as on another instance
+        Student student = new Student();
+        student.setName("Remote Writer");
+        student.setEmail("remote.writer@elsewhere.test");
+        student.setAge(40);
+        Student saved = studentRepository.save(student);
+        students.add(StudentMapper.toDTO(saved));
+
+        studentDirectoryLoader.catchUp();
+
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSize(10);
+        request.setCriteria(List.of(new FilterCriterion("email", "eq", "remote.writer@elsewhere.test")));
+        assertThat(studentDirectory.search(request).orElseThrow().getContent())
+                .extracting(StudentResponseDTO::getId)
+                .containsExactly(saved.getId());
+    }
+
+    @Test
+    void courseFiltersAreLeftToTheDatabase() {
+        FilterCriterion courses = new FilterCriterion();
+        courses.setField("courses");
+        courses.setOp("exists");
+
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSize(10);
+        request.setCriteria(List.of(courses));
+
+        assertThat(studentDirectory.search(request)).isEmpty();
+    }
+
+    private void assertMatchesJpa(StudentDirectory directory, Random random) {
+        int served = 0;
+        for (int i = 0; i < 400; i++) {
+            StudentSearchRequest request = randomRequest(random);
+
+            Optional<Page<StudentResponseDTO>> fromMemory = directory.search(request);
+            if (fromMemory.isEmpty()) {
+                // only search terms whose lower-casing may differ are declined
+                assertThat(request.getSearch()).as(describe(request)).isNotBlank();
+                continue;
+            }
+            served++;
+            Page<StudentResponseDTO> expected = searchJpa(request);
+            Page<StudentResponseDTO> actual = fromMemory.get();
+
+            assertThat(actual.getTotalElements()).as(describe(request)).isEqualTo(expected.getTotalElements());
+            assertThat(rows(actual)).as(describe(request)).containsExactlyElementsOf(rows(expected));
+        }
+        assertThat(served).isGreaterThan(150);
+    }
+
+    private Page<StudentResponseDTO> searchJpa(StudentSearchRequest request) {
+        return studentService.searchDatabase(request);
+    }
+
+    private StudentSearchRequest randomRequest(Random random) {
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setPage(random.nextInt(4));
+        request.setSize(1 + random.nextInt(20));
+
+        StudentResponseDTO sample = students.get(random.nextInt(students.size()));
+        switch (random.nextInt(4)) {
+            case 0 -> request.setSearch(null);
+            case 1 -> request.setSearch(substring(random, sample.getName()));
+            case 2 -> request.setSearch(substring(random, sample.getEmail()).toUpperCase());
+            default -> request.setSearch("qqq");
+        }
+
+        List<FilterCriterion> criteria = new ArrayList<>();
+        if (random.nextBoolean()) {
+            FilterCriterion age = new FilterCriterion();
+            age.setField("age");
+            age.setOp("range");
+            age.setFrom(random.nextBoolean() ? 18 + random.nextInt(12) : null);
+            age.setTo(age.getFrom() == null || random.nextBoolean() ? 20 + random.nextInt(12) : null);
+            criteria.add(age);
+        }
+        if (random.nextInt(4) == 0) {
+            FilterCriterion age = new FilterCriterion();
+            age.setField("age");
+            age.setOp("in");
+            age.setValues(List.of(18 + random.nextInt(12), 18 + random.nextInt(12)));
+            criteria.add(age);
+        }
+        if (random.nextInt(3) == 0) {
+            String field = random.nextBoolean() ? "name" : "email";
+            String value = field.equals("name") ? sample.getName() : sample.getEmail();
+            criteria.add(new FilterCriterion(field, "prefix", value.substring(0, 1 + random.nextInt(3))));
+        }
+        if (random.nextInt(5) == 0) {
+            FilterCriterion id = new FilterCriterion();
+            id.setField("id");
+            id.setOp("range");
+            id.setFrom(sample.getId());
+            criteria.add(id);
+        }
+        request.setCriteria(criteria);
+
+        if (random.nextInt(6) == 0) {
+            request.setFilters(Map.of("email", sample.getEmail()));
+        }
+
+        List<SortField> sorting = new ArrayList<>();
+        int sortFields = random.nextInt(3);
+        for (int i = 0; i < sortFields; i++) {
+            SortField sortField = new SortField();
+            sortField.setField(SORTABLE[random.nextInt(SORTABLE.length)]);
+            sortField.setDirection(random.nextBoolean() ? "asc" : "desc");
+            sorting.add(sortField);
+        }
+        request.setSorting(sorting);
+
+        return request;
+    }
+
+    private static String substring(Random random, String value) {
+        int length = 1 + random.nextInt(Math.min(5, value.length()));
+        int start = random.nextInt(value.length() - length + 1);
+        return value.substring(start, start + length);
+    }
+
+    private static List<String> rows(Page<StudentResponseDTO> page) {
+        return page.getContent()
+                .stream()
+                .map(s -> s.getId() + "|" + s.getName() + "|" + s.getEmail() + "|" + s.getAge())
+                .toList();
+    }
+
+    private static String describe(StudentSearchRequest request) {
+        return "search=" + request.getSearch()
+                + " page=" + request.getPage() + "/" + request.getSize()
+                + " criteria=" + request.getCriteria().size()
+                + " filters=" + request.getFilters()
+                + " sorting=" + request.getSorting().stream().map(s -> s.getField() + " " + s.getDirection()).toList();
+    }
+}
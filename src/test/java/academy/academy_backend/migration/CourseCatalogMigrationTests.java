@@ -0,0 +1,62 @@
+package academy.academy_backend.migration;
+
+import academy.academy_backend.AcademyTest;
+import academy.academy_backend.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// alters the courses table, so it gets a database of its own
+@AcademyTest(properties = "spring.datasource.url=jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1")
+class CourseCatalogMigrationTests {
+
+    @Autowired
+    private CourseCatalogMigration migration;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesPerStudentCourseRowsIntoCatalogAndEnrollments() {
+        // nothing to do on the current schema
+        assertThat(migration.migrate()).isFalse();
+
+        Long ann = testData.student("ann@academy.test").getId();
+        Long ben = testData.student("ben@academy.test").getId();
+
+        // the old layout: one course row per student and course, duplicates included
+        jdbcTemplate.execute("ALTER TABLE courses ADD COLUMN student_id BIGINT");
+        insertLegacyCourse(1, "Algebra", 3, ann);
+        insertLegacyCourse(2, "Algebra", 3, ben);
+        insertLegacyCourse(3, "Algebra", 3, ann);
+        insertLegacyCourse(4, "Physics", 4, ben);
+        insertLegacyCourse(5, "Physics", 5, ann);
+
+        assertThat(migration.migrate()).isTrue();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT title || ':' || credits FROM courses ORDER BY id", String.class))
+                .containsExactly("Algebra:3", "Physics:4", "Physics:5");
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT student_id || '->' || course_id FROM enrollments ORDER BY student_id, course_id",
+                String.class))
+                .containsExactly(ann + "->1", ann + "->5", ben + "->1", ben + "->4");
+
+        // the column is gone, so a second start leaves the data alone
+        assertThat(migration.migrate()).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enrollments", Integer.class))
+                .isEqualTo(4);
+    }
+
+    private void insertLegacyCourse(long id, String title, int credits, Long studentId) {
+        jdbcTemplate.update(
+                "INSERT INTO courses (id, title, credits, student_id) VALUES (?, ?, ?, ?)",
+                id, title, credits, studentId);
+    }
+}
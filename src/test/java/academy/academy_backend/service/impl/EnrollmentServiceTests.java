@@ -0,0 +1,144 @@
+package academy.academy_backend.service.impl;
+
+import academy.academy_backend.AcademyTest;
+import academy.academy_backend.TestData;
+import academy.academy_backend.api.v1.dto.request.EnrollmentRequest;
+import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
+import academy.academy_backend.exception.ResourceNotFoundException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@AcademyTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EnrollmentServiceTests {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Validator validator;
+
+    private CourseResponseDTO algebra;
+    private CourseResponseDTO compilers;
+    private CourseResponseDTO databases;
+
+    @BeforeAll
+    void createCourses() {
+        algebra = testData.course("Algebra", 3);
+        compilers = testData.course("Compilers", 6);
+        databases = testData.course("Databases", 5);
+    }
+
+    @Test
+    void enrollsInBulkAndReEnrollingIsANoOp() {
+        Long studentId = testData.student("ann@academy.test").getId();
+
+        assertThat(titles(enrollmentService.enroll(studentId, List.of(algebra.getId(), compilers.getId()))))
+                .containsExactly("Algebra", "Compilers");
+
+        // repeated ids and courses the student already has are skipped
+        assertThat(titles(enrollmentService.enroll(
+                studentId, List.of(compilers.getId(), algebra.getId(), compilers.getId(), databases.getId()))))
+                .containsExactly("Algebra", "Compilers", "Databases");
+
+        assertThat(courseService.getStudentsByCourse(algebra.getId()))
+                .extracting(StudentResponseDTO::getId)
+                .containsExactly(studentId);
+    }
+
+    @Test
+    void unknownCourseIdIsNotFoundAndEnrollsNothing() {
+        Long studentId = testData.student("ben@academy.test").getId();
+
+        assertThatThrownBy(() -> enrollmentService.enroll(studentId, List.of(algebra.getId(), 999_999L)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("999999");
+
+        assertThat(courseService.getCourseByStudent(studentId)).isEmpty();
+    }
+
+    @Test
+    void unknownStudentIsNotFound() {
+        assertThatThrownBy(() -> enrollmentService.enroll(999_999L, List.of(algebra.getId())))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> enrollmentService.unenroll(999_999L, List.of(algebra.getId())))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void unenrollRemovesOnlyTheGivenCourses() {
+        Long studentId = testData.student("cleo@academy.test").getId();
+        enrollmentService.enroll(studentId, List.of(algebra.getId(), compilers.getId(), databases.getId()));
+
+        enrollmentService.unenroll(studentId, List.of(compilers.getId(), databases.getId()));
+        // unenrolling a course the student doesn't have is a no-op
+        enrollmentService.unenroll(studentId, List.of(databases.getId()));
+
+        assertThat(titles(courseService.getCourseByStudent(studentId))).containsExactly("Algebra");
+    }
+
+    @Test
+    void nullCourseIdIsRejectedBeforeTheService() {
+        EnrollmentRequest request = new EnrollmentRequest();
+        request.setCourseIds(Arrays.asList(algebra.getId(), null));
+
+        assertThat(validator.validate(request)).hasSize(1);
+    }
+
+    @Test
+    void enrollmentsAreIndexedFromBothSides() throws SQLException {
+        // primary key: students of a course; secondary index: courses of a student
+        assertThat(indexColumns("enrollments").values())
+                .contains(List.of("course_id", "student_id"), List.of("student_id", "course_id"));
+    }
+
+    private Map<String, List<String>> indexColumns(String table) throws SQLException {
+        Map<String, List<String>> columns = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+            try (ResultSet indexes = metaData.getIndexInfo(
+                    connection.getCatalog(), connection.getSchema(), name, false, false)) {
+                // rows come ordered by index name, then column position
+                while (indexes.next()) {
+                    if (indexes.getString("COLUMN_NAME") != null) {
+                        columns.computeIfAbsent(indexes.getString("INDEX_NAME"), index -> new ArrayList<>())
+                                .add(indexes.getString("COLUMN_NAME").toLowerCase());
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> titles(List<CourseResponseDTO> courses) {
+        return courses.stream().map(CourseResponseDTO::getTitle).toList();
+    }
+}
@@ -0,0 +1,247 @@
+package academy.academy_backend.sharding;
+
+import academy.academy_backend.AcademyTest;
+import academy.academy_backend.TestData;
+import academy.academy_backend.api.v1.dto.request.SortField;
+import academy.academy_backend.api.v1.dto.request.StudentSearchRequest;
+import academy.academy_backend.api.v1.dto.response.CourseResponseDTO;
+import academy.academy_backend.api.v1.dto.response.StudentResponseDTO;
+import academy.academy_backend.migration.CourseCatalogMigration;
+import academy.academy_backend.service.impl.CourseService;
+import academy.academy_backend.service.impl.EnrollmentService;
+import academy.academy_backend.service.impl.StudentService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@AcademyTest(properties = {
+        "academy.sharding.enabled=true",
+        "academy.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "academy.sharding.shards[0].username=sa",
+        "academy.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "academy.sharding.shards[1].username=sa",
+        "academy.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "academy.sharding.shards[2].username=sa"
+})
+class ShardRoutingTests {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private CatalogReplicator catalogReplicator;
+
+    @Autowired
+    private CourseCatalogMigration courseCatalogMigration;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void studentsAndEnrollmentsLiveOnTheOwningShard() {
+        List<StudentResponseDTO> students = testData.students("routing", 12);
+
+        CourseResponseDTO course = testData.course("Distributed Systems", 4);
+
+        for (StudentResponseDTO student : students) {
+            int owner = shardRouter.shardForStudent(student.getId());
+
+            assertThat(studentService.getById(student.getId()).getEmail()).isEqualTo(student.getEmail());
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                assertThat(count(shard, "SELECT COUNT(*) FROM students WHERE id = ?", student.getId()))
+                        .isEqualTo(shard == owner ? 1 : 0);
+            }
+
+            enrollmentService.enroll(student.getId(), List.of(course.getId()));
+            assertThat(count(owner, "SELECT COUNT(*) FROM enrollments WHERE student_id = ?", student.getId()))
+                    .isEqualTo(1);
+            assertThat(courseService.getCourseByStudent(student.getId()))
+                    .extracting(CourseResponseDTO::getId)
+                    .containsExactly(course.getId());
+        }
+
+        assertThat(courseService.getStudentsByCourse(course.getId()))
+                .extracting(StudentResponseDTO::getId)
+                .containsExactlyElementsOf(students.stream().map(StudentResponseDTO::getId).sorted().toList());
+    }
+
+    @Test
+    void searchMergesShardsInSortOrder() {
+        List<StudentResponseDTO> students = testData.students("merge", 10);
+
+        SortField byAgeDesc = new SortField();
+        byAgeDesc.setField("age");
+        byAgeDesc.setDirection("desc");
+
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSearch("merge-");
+        request.setSorting(List.of(byAgeDesc));
+        request.setPage(1);
+        request.setSize(4);
+
+        Page<StudentResponseDTO> page = studentService.search(request);
+
+        List<Long> expected = students.stream()
+                .sorted(Comparator.comparing(StudentResponseDTO::getAge).reversed()
+                        .thenComparing(StudentResponseDTO::getId))
+                .map(StudentResponseDTO::getId)
+                .toList()
+                .subList(4, 8);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(page.getContent()).extracting(StudentResponseDTO::getId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void textSortsMergeInDatabaseOrder() {
+        List<StudentResponseDTO> students = testData.students("text", 9);
+
+        SortField byEmailDesc = new SortField();
+        byEmailDesc.setField("email");
+        byEmailDesc.setDirection("desc");
+
+        StudentSearchRequest request = new StudentSearchRequest();
+        request.setSearch("text-");
+        request.setSorting(List.of(byEmailDesc));
+        request.setPage(1);
+        request.setSize(3);
+
+        List<String> expected = databaseOrder(students.stream().map(StudentResponseDTO::getEmail).toList())
+                .reversed()
+                .subList(3, 6);
+
+        assertThat(studentService.search(request).getContent())
+                .extracting(StudentResponseDTO::getEmail)
+                .containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void mergeRanksBoundedBatchesWithoutCodePointCollation() {
+        // batches of 2 rows per shard and round: many rounds, rows carried over
+        ShardCollation collation = new ShardCollation(shardRouter, 12, false);
+
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            values.add((i % 3 == 0 ? "B" : i % 3 == 1 ? "a" : "a b") + i);
+        }
+        List<String> databaseOrder = databaseOrder(values);
+
+        List<List<String>> runs = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < databaseOrder.size(); i++) {
+            runs.get(Math.floorMod(databaseOrder.get(i).hashCode(), 3)).add(databaseOrder.get(i));
+        }
+
+        assertThat(collation.merge(runs, 20, order -> order, value -> List.of(value)))
+                .containsExactlyElementsOf(databaseOrder.subList(0, 20));
+    }
+
+    @Test
+    void rolledBackCourseIsNotCopiedToOtherShards() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long courseId = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return testData.course("Rolled Back", 2).getId();
+        });
+
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            assertThat(count(shard, "SELECT COUNT(*) FROM courses WHERE id = ?", courseId)).isZero();
+        }
+    }
+
+    @Test
+    void missingCatalogCopyIsRepairedOnEnroll() {
+        CourseResponseDTO course = testData.course("Lost Copy", 3);
+        StudentResponseDTO student = testData.students("repair", 6)
+                .stream()
+                .filter(s -> shardRouter.shardForStudent(s.getId()) != ShardRouter.CATALOG_SHARD)
+                .findFirst()
+                .orElseThrow();
+        int owner = shardRouter.shardForStudent(student.getId());
+
+        // as if the copy had failed after the catalog commit
+        new JdbcTemplate(shardRouter.dataSource(owner)).update("DELETE FROM courses WHERE id = ?", course.getId());
+
+        assertThat(enrollmentService.enroll(student.getId(), List.of(course.getId())))
+                .extracting(CourseResponseDTO::getId)
+                .containsExactly(course.getId());
+        assertThat(count(owner, "SELECT COUNT(*) FROM courses WHERE id = ?", course.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void startupRefusesStudentsOnTheWrongShard() {
+        JdbcTemplate shard1 = new JdbcTemplate(shardRouter.dataSource(1));
+        // id 3 belongs on shard 0
+        shard1.update("INSERT INTO students (id, name, email, age) VALUES (3, 'Misplaced', 'misplaced@academy.test', 20)");
+        try {
+            ShardSchemaInitializer initializer = new ShardSchemaInitializer(
+                    shardRouter, entityManagerFactory, catalogReplicator, courseCatalogMigration);
+
+            assertThatThrownBy(initializer::afterPropertiesSet)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Shard 1 holds 1 students");
+        } finally {
+            shard1.update("DELETE FROM students WHERE id = 3");
+        }
+    }
+
+    @Test
+    void shardPoolsTakeTheirHikariSettingsAndClose() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+                .withProperty("academy.sharding.shards[1].hikari.maximum-pool-size", "3");
+        ShardingProperties properties = new ShardingProperties();
+        for (int i = 0; i < 2; i++) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setUrl("jdbc:h2:mem:pool" + i);
+            shard.setUsername("sa");
+            properties.getShards().add(shard);
+        }
+
+        ShardRoutingDataSource routing = new ShardingConfig().shardRoutingDataSource(properties, environment);
+        List<HikariDataSource> pools = routing.getShards().stream().map(HikariDataSource.class::cast).toList();
+        assertThat(pools).extracting(HikariDataSource::getMaximumPoolSize).containsExactly(7, 3);
+        assertThat(pools).extracting(HikariDataSource::getPoolName).containsExactly("shard-0", "shard-1");
+
+        routing.close();
+        assertThat(pools).allMatch(HikariDataSource::isClosed);
+    }
+
+    private List<String> databaseOrder(List<String> values) {
+        return new JdbcTemplate(shardRouter.dataSource(0)).queryForList(
+                "SELECT v.s FROM (VALUES " + String.join(", ", Collections.nCopies(values.size(), "(CAST(? AS VARCHAR(255)))"))
+                        + ") AS v(s) ORDER BY v.s",
+                String.class, values.toArray());
+    }
+
+    private int count(int shard, String sql, Long id) {
+        return new JdbcTemplate(shardRouter.dataSource(shard)).queryForObject(sql, Integer.class, id);
+    }
+}